@@ -0,0 +1,1303 @@
+package com.liftup;
+
+import java.lang.management.MemoryUsage;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.kordamp.ikonli.javafx.FontIcon;
+import org.kordamp.ikonli.materialdesign.MaterialDesign;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.BeneficiaryRecord;
+import com.liftup.models.Opportunity;
+import com.liftup.models.OpportunityRecord;
+import com.liftup.services.AssignmentResult;
+import com.liftup.services.AsyncSaver;
+import com.liftup.services.BatchMatchResult;
+import com.liftup.services.ChangeJournal;
+import com.liftup.services.DataStore;
+import com.liftup.services.IncrementalMatcher;
+import com.liftup.services.InsightsAggregator;
+import com.liftup.services.MatchWeights;
+import com.liftup.services.MatchingService;
+import com.liftup.services.PageSource;
+import com.liftup.services.SearchIndex;
+import com.liftup.services.SettingsService;
+import com.liftup.services.SnapshotBrowser;
+import com.liftup.services.SnapshotReader;
+import com.liftup.services.WalletService;
+import com.liftup.util.DebouncedSearch;
+import com.liftup.util.ExportTask;
+import com.liftup.util.IconProvider;
+import com.liftup.util.Importer;
+import com.liftup.util.Metrics;
+import com.liftup.util.Overlays;
+import com.liftup.util.PagedList;
+import com.liftup.util.PulseCoalescer;
+import com.liftup.util.TransactionalList;
+
+import javafx.animation.Animation;
+import javafx.animation.FadeTransition;
+import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
+import javafx.animation.Timeline;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.concurrent.Task;
+import javafx.collections.transformation.SortedList;
+import javafx.collections.transformation.TransformationList;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.PieChart;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.Accordion;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.SelectionMode;
+import javafx.scene.control.Spinner;
+import javafx.scene.control.Separator;
+import javafx.scene.control.Slider;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TitledPane;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.control.ToolBar;
+import javafx.scene.control.Tooltip;
+import javafx.scene.control.cell.TextFieldTableCell;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.TilePane;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
+
+public class App extends Application {
+
+    private final DataStore store = new DataStore("/com/liftup/views", "data/sample-data.json");
+    private final SettingsService settings = new SettingsService();
+    private final MatchingService matcher = new MatchingService();
+    private final IncrementalMatcher liveMatcher = new IncrementalMatcher(matcher.index());
+    private final WalletService wallet = openWallet();
+    private final InsightsAggregator insights = new InsightsAggregator();
+    private final SearchIndex<Beneficiary> beneficiarySearch = new SearchIndex<>(b -> b.getName() + "\n" + b.getSkillsCsv());
+    private final SearchIndex<Opportunity> opportunitySearch = new SearchIndex<>(o -> o.getTitle() + "\n" + o.getRequiredSkillsCsv());
+
+    private final AsyncSaver saver = new AsyncSaver(new AsyncSaver.Listener() {
+        @Override public void saving() { Platform.runLater(() -> statusLabel.setText("Saving...")); }
+        @Override public void saved(int n, long nanos) {
+            Platform.runLater(() -> toast((n == 0 ? "Saved" : "Saved " + n + (n == 1 ? " change" : " changes")) + String.format(" (%.0f ms)", nanos / 1e6)));
+        }
+        @Override public void failed(Exception e) {
+            System.err.println("Save failed: " + e.getMessage());
+            Platform.runLater(() -> { statusLabel.setText("Save failed"); alert("Save failed: " + e.getMessage()); });
+        }
+    });
+
+    private final TransactionalList<Beneficiary> beneficiaries = new TransactionalList<>();
+    private final TransactionalList<Opportunity> opportunities = new TransactionalList<>();
+    private final ObservableList<MatchingService.Scored> matches = FXCollections.observableArrayList();
+    /** Newest first, at most {@link #FEED_LIMIT} entries. */
+    private final ObservableList<IncrementalMatcher.Event> matchFeed = FXCollections.observableArrayList();
+    /** Rows selected in the Beneficiaries tab; one way to pick a payout cohort. */
+    private ObservableList<Beneficiary> selectedBeneficiaries = FXCollections.emptyObservableList();
+    /** Last place assignment; the next run warm-starts from it. */
+    private AssignmentResult lastAssignment;
+    /** Saved roster too big to load: the live lists stay empty and both tables page through the saved file instead. */
+    private final BooleanProperty paged = new SimpleBooleanProperty();
+
+    private static final int BATCH_TOP_K = 10;
+    private static final int IMPORT_BATCH = 50_000;
+    private static final int PICKER_LIMIT = 200;
+    private static final int FEED_LIMIT = 500;
+    private static final int PLACEMENT_PREVIEW = 10;
+    private static final int BROWSE_PAGE = 256;
+    private static final int BROWSE_PAGES = 64;
+    /** Rough heap per loaded row: the model object plus its list, search, skill, matcher and dashboard entries. */
+    private static final long LIVE_ROW_BYTES = 1024;
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(150);
+    private static final String PAYOUT_RULE = "Payout must be a positive amount of at most RM " + String.format("%,d", (long) OpportunityRecord.MAX_PAYOUT) + ".";
+
+    private final Label statusLabel = new Label("Ready");
+    private final ProgressBar statusProgress = new ProgressBar(0);
+    private final Button statusCancel = new Button("Cancel");
+    private StackPane root;
+    private Scene scene;
+    private Overlays overlays;
+
+    private String currentTheme = "light";
+    private double fontScale = 1.0; // 1.0 = 16px base
+
+    @Override
+    public void start(Stage stage) {
+        Metrics.registerMBean();
+        root = new StackPane(); overlays = new Overlays(root);
+        scene = new Scene(root, 1400, 900);
+
+        applyTheme(settings.getTheme());
+        applyFontScale(settings.getFontScale());
+
+        BorderPane shell = new BorderPane();
+        ToolBar tb = new ToolBar();
+        VBox titleBox = new VBox();
+        Label title = new Label("LiftUp - Social Protection & Livelihoods"); title.getStyleClass().add("h1");
+        Label subtitle = new Label("Register people / List opportunities / Match by skills / Send support (demo)"); subtitle.getStyleClass().add("subtitle");
+        titleBox.getChildren().addAll(title, subtitle); titleBox.setSpacing(2);
+        Pane spacer = new Pane(); HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        // Global Back button bound to overlay depth
+        Button backBtn = btn("Back", "info", MaterialDesign.MDI_ARROW_LEFT);
+        backBtn.disableProperty().bind(overlays.depthProperty().lessThanOrEqualTo(0));
+        backBtn.setOnAction(e -> overlays.pop());
+
+        Button aboutBtn = btn("About", "primary", MaterialDesign.MDI_INFORMATION_OUTLINE);
+        aboutBtn.setOnAction(e -> showAbout());
+        aboutBtn.setTooltip(new Tooltip("Show application information and guide"));
+
+        Button diagBtn = btn("Diagnostics", "info", MaterialDesign.MDI_SPEEDOMETER);
+        diagBtn.setOnAction(e -> showDiagnostics());
+        diagBtn.setTooltip(new Tooltip("Live timings, record counts and memory use (Ctrl+Shift+D)"));
+
+        Button sampleBtn = btn("Show Sample", "primary", MaterialDesign.MDI_DATABASE_PLUS);
+        sampleBtn.setOnAction(e -> onLoadSample());
+        sampleBtn.setTooltip(new Tooltip("Load sample data to explore features"));
+
+        Button importBtn = btn("Import", "primary", MaterialDesign.MDI_IMPORT);
+        importBtn.setOnAction(e -> onImport(stage));
+        importBtn.setTooltip(new Tooltip("Import beneficiaries or opportunities from an exported CSV, an NDJSON file or a data.json snapshot"));
+        sampleBtn.disableProperty().bind(paged); importBtn.disableProperty().bind(paged);
+
+        Button resetBtn = btn("Reset Demo", "warn", MaterialDesign.MDI_DELETE_SWEEP);
+        resetBtn.setOnAction(e -> onReset());
+        resetBtn.setTooltip(new Tooltip("Clear all local data and reset the application"));
+
+        Button saveBtn = btn("Save", "success", MaterialDesign.MDI_CONTENT_SAVE);
+        saveBtn.setOnAction(e -> saveAll());
+        saveBtn.setTooltip(new Tooltip("Save all beneficiaries and opportunities (Ctrl+S)"));
+
+        ToggleButton themeTgl = tglBtn("Dark Mode", "primary", MaterialDesign.MDI_THEME_LIGHT_DARK);
+        themeTgl.setOnAction(e -> {
+            toggleTheme(themeTgl.isSelected());
+        });
+        themeTgl.setTooltip(new Tooltip("Toggle between light and dark themes"));
+
+        Button fsBtn = btn("Full Screen", "primary", MaterialDesign.MDI_FULLSCREEN);
+        fsBtn.setOnAction(e -> stage.setFullScreen(!stage.isFullScreen()));
+        fsBtn.setTooltip(new Tooltip("Toggle full screen mode (F11)"));
+
+        HBox zoomBox = new HBox(6);
+        Button zoomOut = btn("A-", "info", MaterialDesign.MDI_MINUS);
+        zoomOut.setOnAction(e -> adjustFont(-0.1));
+        zoomOut.setTooltip(new Tooltip("Decrease font size (Ctrl+-)"));
+
+        Button zoomReset = btn("A", "info", MaterialDesign.MDI_FORMAT_SIZE);
+        zoomReset.setOnAction(e -> setFontScale(1.0));
+        zoomReset.setTooltip(new Tooltip("Reset font size (Ctrl+0)"));
+
+        Button zoomIn = btn("A+", "info", MaterialDesign.MDI_PLUS);
+        zoomIn.setOnAction(e -> adjustFont(0.1));
+        zoomIn.setTooltip(new Tooltip("Increase font size (Ctrl+=)"));
+        zoomBox.getChildren().addAll(zoomOut, zoomReset, zoomIn);
+
+        tb.getItems().addAll(titleBox, spacer, backBtn, aboutBtn, diagBtn, sampleBtn, importBtn, resetBtn, saveBtn, new Separator(),
+                themeTgl, fsBtn, zoomBox);
+        shell.setTop(tb);
+
+        TabPane tabs = new TabPane(); tabs.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
+        tabs.getTabs().add(buildBeneficiariesTab());
+        tabs.getTabs().add(buildOpportunitiesTab());
+        Tab matchTab = buildMatchWalletTab(), insightsTab = buildInsightsTab();
+        // Matching, support and the dashboard work on the whole roster in memory
+        matchTab.disableProperty().bind(paged); insightsTab.disableProperty().bind(paged);
+        tabs.getTabs().addAll(matchTab, insightsTab);
+        shell.setCenter(tabs);
+
+        Pane statusSpacer = new Pane(); HBox.setHgrow(statusSpacer, Priority.ALWAYS);
+        statusProgress.setVisible(false); statusCancel.setVisible(false); statusCancel.getStyleClass().add("warn");
+        HBox status = new HBox(10, statusLabel, statusSpacer, statusProgress, statusCancel); status.setAlignment(Pos.CENTER_LEFT); status.getStyleClass().add("statusbar"); statusLabel.getStyleClass().add("status");
+        shell.setBottom(status);
+
+        root.getChildren().add(shell);
+
+        // Keep the matcher's skill index in step with the opportunity catalogue
+        opportunities.addListener((ListChangeListener.Change<? extends Opportunity> c) -> {
+            while (c.next()) {
+                c.getRemoved().forEach(matcher.index()::remove);
+                c.getAddedSubList().forEach(matcher.index()::add);
+            }
+        });
+        // Live feed of pairs that start or stop matching; registered after the index so it sees the current catalogue
+        opportunities.addListener(liveMatcher::onOpportunities);
+        beneficiaries.addListener(liveMatcher::onBeneficiaries);
+        liveMatcher.addListener(events -> {
+            List<IncrementalMatcher.Event> newest = new ArrayList<>(events.subList(Math.max(0, events.size() - FEED_LIMIT), events.size()));
+            Collections.reverse(newest);
+            matchFeed.addAll(0, newest);
+            if (matchFeed.size() > FEED_LIMIT) matchFeed.remove(FEED_LIMIT, matchFeed.size());
+        });
+        // ...and drop cached candidates for rows that leave the roster
+        beneficiaries.addListener((ListChangeListener.Change<? extends Beneficiary> c) -> {
+            while (c.next()) c.getRemoved().forEach(matcher.cache()::invalidate);
+        });
+        // Dashboard figures are maintained from the same deltas
+        beneficiaries.addListener(insights::onBeneficiaries);
+        opportunities.addListener(insights::onOpportunities);
+        // ...and so are the search indexes behind the filters and the picker
+        beneficiaries.addListener(beneficiarySearch::onChanged);
+        opportunities.addListener(opportunitySearch::onChanged);
+
+        // Shortcuts
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.S, KeyCombination.SHORTCUT_DOWN), this::saveAll);
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.ESCAPE), () -> overlays.pop());
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.F11), () -> stage.setFullScreen(!stage.isFullScreen()));
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.EQUALS, KeyCombination.SHORTCUT_DOWN), () -> adjustFont(0.1));
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.MINUS, KeyCombination.SHORTCUT_DOWN), () -> adjustFont(-0.1));
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.DIGIT0, KeyCombination.SHORTCUT_DOWN), () -> setFontScale(1.0));
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.D, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN), this::showDiagnostics);
+
+        store.setSnapshotFormat("binary".equalsIgnoreCase(settings.getSnapshotFormat()) ? DataStore.SnapshotFormat.BINARY : DataStore.SnapshotFormat.JSON);
+        loadData();
+        journalChanges();
+
+        stage.setTitle("LiftUp - No Poverty (SDG 1)");
+        stage.setScene(scene);
+        stage.setFullScreenExitHint("Press F11 to exit Full Screen");
+        stage.setMaximized(true);
+        stage.show();
+
+        toast("Welcome! Click Help for a quick guide.");
+    }
+
+    private void applyTheme(String theme){
+        currentTheme = (theme==null||theme.isBlank())?"light":theme;
+        scene.getStylesheets().clear();
+        if("dark".equals(currentTheme)) scene.getStylesheets().add(getClass().getResource("/com/liftup/views/theme-dark.css").toExternalForm());
+        else scene.getStylesheets().add(getClass().getResource("/com/liftup/views/theme-light.css").toExternalForm());
+    }
+    private void toggleTheme(boolean dark){ applyTheme(dark?"dark":"light"); }
+    private void applyFontScale(double scale){ fontScale = Math.max(0.8, Math.min(1.8, scale)); scene.getRoot().setStyle("-fx-font-size: "+(int)(16*fontScale)+"px;"); }
+    private void adjustFont(double delta){ setFontScale(fontScale+delta); }
+    private void setFontScale(double value){ applyFontScale(value); }
+    private Button btn(String text, String style){ Button b = new Button(text); b.getStyleClass().add(style); return b; }
+    private Button btn(String text, String style, MaterialDesign icon){ Button b = btn(text, style); b.setGraphic(IconProvider.getIcon(icon)); return b; }
+    private ToggleButton tglBtn(String text, String style, MaterialDesign icon){ ToggleButton b = new ToggleButton(text); b.getStyleClass().add(style); b.setGraphic(IconProvider.getIcon(icon)); return b; }
+
+    private void showAbout() {
+        String title = "About LiftUp: A Vision for a World Without Poverty";
+
+        Accordion accordion = new Accordion();
+
+        TitledPane visionPane = new TitledPane("Our Vision", createAboutSection(
+            "To create a world where every person has the opportunity to achieve economic independence and live a life of dignity."
+        ));
+
+        TitledPane beneficiaryPane = new TitledPane("Who is a Beneficiary?", createAboutSection(
+            "A 'Beneficiary' is an individual or family we aim to support. In this app, you can register them, noting their skills and household size to help us find the best opportunities for them."
+        ));
+
+        TitledPane opportunityPane = new TitledPane("What is an Opportunity?", createAboutSection(
+            "An 'Opportunity' is a job, training program, or any other chance for a beneficiary to improve their livelihood. Each opportunity has required skills and a potential payout."
+        ));
+
+        TitledPane matchingPane = new TitledPane("How Matching Works", createAboutSection(
+            "Our smart system connects people to opportunities. On the 'Match & Support' tab, you can select a beneficiary, and the app will find the most suitable opportunities based on their skills."
+        ));
+        
+        TitledPane goalPane = new TitledPane("Our Goal", createAboutSection(
+            "By connecting people with opportunities, we aim to build a self-sustaining cycle of empowerment. Every match made is a step towards lifting a community out of poverty."
+        ));
+
+        accordion.getPanes().addAll(visionPane, beneficiaryPane, opportunityPane, matchingPane, goalPane);
+        accordion.setExpandedPane(visionPane);
+
+        ScrollPane sp = new ScrollPane(accordion);
+        sp.setFitToWidth(true);
+        sp.setFitToHeight(true);
+
+        overlays.pushSheet(title, sp, 600);
+    }
+
+    /**
+     * Diagnostics sheet: latency percentiles per instrumented operation, record counts and heap use, refreshed every
+     * second while the sheet is open. The same figures are on JMX as com.liftup:type=Performance.
+     */
+    private void showDiagnostics() {
+        TableView<Metrics.TimerStats> table = new TableView<>();
+        table.setPlaceholder(new Label("Nothing measured yet."));
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+        table.setPrefHeight(330);
+        table.getColumns().addAll(Arrays.asList(
+            statsColumn("Operation", Metrics.TimerStats::getName),
+            statsColumn("Calls", t -> Long.toString(t.getCalls())),
+            statsColumn("Records", t -> Long.toString(t.getRecords())),
+            statsColumn("Mean ms", t -> millis(t.getMeanMillis())),
+            statsColumn("p50 ms", t -> millis(t.getP50Millis())),
+            statsColumn("p95 ms", t -> millis(t.getP95Millis())),
+            statsColumn("p99 ms", t -> millis(t.getP99Millis())),
+            statsColumn("Max ms", t -> millis(t.getMaxMillis()))));
+
+        Label heapLabel = new Label();
+        ProgressBar heapBar = new ProgressBar(0); heapBar.setMaxWidth(Double.MAX_VALUE);
+        Label rowsLabel = new Label();
+        Label countersLabel = new Label(); countersLabel.setWrapText(true);
+        Runnable refresh = () -> {
+            table.getItems().setAll(Metrics.timers().stream().filter(t -> t.calls() > 0).map(Metrics.TimerStats::of).toList());
+            MemoryUsage heap = Metrics.heap();
+            long max = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+            heapLabel.setText(String.format("Heap: %d MB used of %d MB committed (max %d MB)", heap.getUsed() >> 20, heap.getCommitted() >> 20, max >> 20));
+            heapBar.setProgress((double) heap.getUsed() / max);
+            rowsLabel.setText(String.format("Records: %,d beneficiaries, %,d opportunities, %,d matches shown; match cache %s", beneficiaries.size(), opportunities.size(), matches.size(), matcher.cache()));
+            countersLabel.setText(Metrics.counters().entrySet().stream().map(en -> en.getKey() + " " + en.getValue()).collect(Collectors.joining(", ", "Counters: ", "")));
+            countersLabel.setVisible(!Metrics.counters().isEmpty()); countersLabel.setManaged(countersLabel.isVisible());
+        };
+        refresh.run();
+
+        Button gc = btn("Run GC", "info", MaterialDesign.MDI_DELETE_SWEEP);
+        gc.setOnAction(e -> { System.gc(); refresh.run(); });
+        Button reset = btn("Reset Timings", "warn", MaterialDesign.MDI_RESTORE);
+        reset.setOnAction(e -> { Metrics.reset(); refresh.run(); });
+        HBox actions = new HBox(10, gc, reset); actions.setAlignment(Pos.CENTER_RIGHT); actions.getStyleClass().add("overlay-actions");
+
+        VBox content = new VBox(10, table, heapLabel, heapBar, rowsLabel, countersLabel, actions);
+        content.setPadding(new Insets(0, 12, 12, 12));
+
+        Timeline live = new Timeline(new KeyFrame(Duration.seconds(1), e -> refresh.run()));
+        live.setCycleCount(Animation.INDEFINITE);
+        overlays.pushSheet("Diagnostics", content, 900);
+        live.play();
+        // Stop refreshing once this sheet (or anything under it) is popped
+        int depth = overlays.depthProperty().get();
+        overlays.depthProperty().addListener(new ChangeListener<Number>() {
+            @Override public void changed(ObservableValue<? extends Number> obs, Number was, Number now) {
+                if (now.intValue() < depth) { live.stop(); obs.removeListener(this); }
+            }
+        });
+    }
+
+    private void showMatchWeights() {
+        MatchWeights w = settings.getMatchWeights();
+        Slider overlapW = weightSlider(w.overlap()), payoutW = weightSlider(w.payout()), priorityW = weightSlider(w.priority());
+        Spinner<Integer> topK = new Spinner<>(1, 1000, settings.getMatchTopK(), 5);
+        topK.setEditable(true);
+        Label body = new Label("Matches are scored on the share of an opportunity's required skills the beneficiary has, its payout against the best-paying candidate, and the beneficiary's household priority score. Only the ratios between the weights matter.");
+        body.setWrapText(true);
+
+        GridPane gp = new GridPane(); gp.setHgap(10); gp.setVgap(8);
+        gp.addRow(0, new Label("Skills in common:"), overlapW);
+        gp.addRow(1, new Label("Payout:"), payoutW);
+        gp.addRow(2, new Label("Household priority:"), priorityW);
+        gp.addRow(3, new Label("Matches to keep:"), topK);
+        GridPane.setHgrow(overlapW, Priority.ALWAYS);
+
+        Button defaults = btn("Defaults", "warn", MaterialDesign.MDI_RESTORE);
+        defaults.setOnAction(e -> { overlapW.setValue(MatchWeights.DEFAULT.overlap()); payoutW.setValue(MatchWeights.DEFAULT.payout()); priorityW.setValue(MatchWeights.DEFAULT.priority()); });
+        Button apply = btn("Apply", "primary", MaterialDesign.MDI_CHECK);
+        apply.setOnAction(e -> {
+            settings.setMatchWeights(new MatchWeights(overlapW.getValue(), payoutW.getValue(), priorityW.getValue()));
+            settings.setMatchTopK(topK.getValue());
+            settings.save();
+            overlays.pop();
+            toast("Ranking updated; run Find Matches again to re-rank.");
+        });
+        HBox actions = new HBox(10, defaults, apply); actions.setAlignment(Pos.CENTER_RIGHT); actions.getStyleClass().add("overlay-actions");
+        overlays.pushSheet("Match Ranking", new VBox(12, body, gp, actions), 560);
+    }
+
+    private static Slider weightSlider(double value) {
+        Slider s = new Slider(0, 1, value);
+        s.setShowTickMarks(true);
+        s.setShowTickLabels(true);
+        s.setMajorTickUnit(0.25);
+        s.setBlockIncrement(0.05);
+        return s;
+    }
+
+    private static <S> TableColumn<S, String> statsColumn(String title, Function<S, String> value) {
+        TableColumn<S, String> col = new TableColumn<>(title);
+        col.setCellValueFactory(c -> new ReadOnlyStringWrapper(value.apply(c.getValue())));
+        col.setSortable(false);
+        return col;
+    }
+
+    private static String millis(double ms) { return ms < 10 ? String.format("%.2f", ms) : String.format("%.0f", ms); }
+
+    private VBox createAboutSection(String text) {
+        Label label = new Label(text);
+        label.setWrapText(true);
+        label.setMaxWidth(550);
+        VBox layout = new VBox(label);
+        layout.setPadding(new Insets(10));
+        return layout;
+    }
+
+    private void onLoadSample(){
+        Label body = new Label("Append adds samples to what you have. Replace clears current data first.");
+        Button bAppend = btn("Append", "primary", MaterialDesign.MDI_PLUS_BOX);
+        Button bReplace = btn("Replace", "warn", MaterialDesign.MDI_REFRESH);
+        HBox actions = new HBox(10, bReplace, bAppend); actions.setAlignment(Pos.CENTER_RIGHT);
+        VBox content = new VBox(12, body, actions);
+        bAppend.setOnAction(e -> { mergeSample(false); overlays.pop(); });
+        bReplace.setOnAction(e -> { mergeSample(true); overlays.pop(); });
+        overlays.pushSheet("Load Sample Data", content);
+    }
+
+    private void mergeSample(boolean replace){
+        try{
+            DataStore.Snapshot sample = store.load(true);
+            List<Beneficiary> sb = sample.beneficiaries;
+            List<Opportunity> so = sample.opportunities;
+            // One change per list, however many rows are merged
+            TransactionalList.Transaction tb = beneficiaries.begin(), to = opportunities.begin();
+            try{
+                if(replace){ beneficiaries.clear(); opportunities.clear(); }
+                Set<String> bIds = beneficiaries.stream().map(Beneficiary::getId).collect(Collectors.toSet());
+                for(Beneficiary b: sb){ if(!bIds.contains(b.getId())) beneficiaries.add(b); }
+                Set<String> oIds = opportunities.stream().map(Opportunity::getId).collect(Collectors.toSet());
+                for(Opportunity o: so){ if(!oIds.contains(o.getId())) opportunities.add(o); }
+            } finally { to.close(); tb.close(); }
+            toast((replace?"Replaced with":"Appended") + " sample data");
+        }catch(Exception ex){
+            System.err.println("Could not load sample data: " + ex.getMessage());
+            alert("Could not load sample data");
+        }
+    }
+
+    private void onImport(Stage stage){
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Data");
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("CSV, NDJSON or snapshot", "*.csv", "*.csv.gz", "*.ndjson", "*.jsonl", "*.ndjson.gz", "*.jsonl.gz", "*.json", "*.json.gz"),
+            new FileChooser.ExtensionFilter("All files", "*.*"));
+        java.io.File file = chooser.showOpenDialog(stage);
+        if (file == null) return;
+        Set<String> bIds = beneficiaries.stream().map(Beneficiary::getId).collect(Collectors.toSet());
+        Set<String> oIds = opportunities.stream().map(Opportunity::getId).collect(Collectors.toSet());
+        Task<Importer.Result> task = new Task<>() {
+            @Override protected Importer.Result call() throws Exception {
+                return Importer.importFile(file, bIds, oIds, (read, total) -> { updateProgress(read, total); return !isCancelled(); });
+            }
+        };
+        runTask(task, "Importing " + file.getName() + "...", r -> {
+            addInBatches(beneficiaries, r.beneficiaries);
+            addInBatches(opportunities, r.opportunities);
+            toast("Imported " + (r.beneficiaries.size() + r.opportunities.size()) + " records");
+            if (r.invalid > 0 || r.duplicates > 0) overlays.showInfo("Import Summary", r + (r.errors.isEmpty() ? "" : "\n\n" + String.join("\n", r.errors)));
+        }, ex -> alert("Import failed: " + ex.getMessage()));
+    }
+
+    /** Large addAll batches so list listeners fire a handful of times rather than once per record. */
+    private static <T> void addInBatches(ObservableList<T> target, List<T> rows){
+        for (int i = 0; i < rows.size(); i += IMPORT_BATCH) target.addAll(rows.subList(i, Math.min(rows.size(), i + IMPORT_BATCH)));
+    }
+
+    private void onReset(){
+        overlays.showConfirm("Reset Demo", "This clears saved data on this computer. Continue?", "Yes, reset", "Cancel", () -> {
+            paged.set(false); beneficiaries.clear(); opportunities.clear(); matches.clear(); store.reset(); toast("Demo reset. Click 'Show Sample'.");
+        });
+    }
+
+    private void toast(String msg){
+        Label t = new Label(msg); t.getStyleClass().add("toast");
+        StackPane.setAlignment(t, Pos.TOP_CENTER); root.getChildren().add(t);
+        FadeTransition ft = new FadeTransition(Duration.millis(2000), t); ft.setFromValue(0); ft.setToValue(1); ft.setAutoReverse(true); ft.setCycleCount(2); ft.setOnFinished(e -> root.getChildren().remove(t)); ft.play();
+        statusLabel.setText(msg);
+    }
+
+    private void alert(String msg){ overlays.showInfo("Error", msg); }
+
+    /** Run a task on a daemon thread with its progress and a Cancel button in the status bar. */
+    private <T> void runTask(Task<T> task, String label, java.util.function.Consumer<T> onSuccess, java.util.function.Consumer<Throwable> onFailure){
+        statusLabel.setText(label);
+        statusProgress.progressProperty().bind(task.progressProperty());
+        statusProgress.setVisible(true); statusCancel.setVisible(true);
+        statusCancel.setOnAction(e -> task.cancel());
+        task.messageProperty().addListener((obs, o, m) -> { if (m != null && !m.isEmpty()) statusLabel.setText(m); });
+        Runnable done = () -> { statusProgress.progressProperty().unbind(); statusProgress.setVisible(false); statusCancel.setVisible(false); };
+        task.setOnSucceeded(e -> { done.run(); onSuccess.accept(task.getValue()); });
+        task.setOnCancelled(e -> { done.run(); toast("Cancelled"); });
+        task.setOnFailed(e -> {
+            done.run();
+            System.err.println(label + " failed: " + task.getException());
+            statusLabel.setText("Failed");
+            onFailure.accept(task.getException());
+        });
+        Thread t = new Thread(task, "liftup-task"); t.setDaemon(true); t.start();
+    }
+
+    /** Text-field cell converter for numeric columns; unparseable input becomes {@code null}, which the commit handlers reject. */
+    private static StringConverter<Number> numberCells(java.util.function.Function<Number, String> format, java.util.function.Function<String, Number> parse){
+        return new StringConverter<>() {
+            @Override public String toString(Number n){ return n == null ? "" : format.apply(n); }
+            @Override public Number fromString(String t){ try { return parse.apply(t); } catch(NumberFormatException e){ return null; } }
+        };
+    }
+
+    /**
+     * Report a committed cell edit to the backing list. The row's position there comes from the table's sorted and
+     * filtered views, so an edit does not scan the roster; the scan is only a fallback if the views disagree.
+     */
+    private static <T> void updated(TableColumn.CellEditEvent<T, ?> ev, TransactionalList<T> backing){
+        ObservableList<T> items = ev.getTableView().getItems();
+        int row = ev.getTablePosition().getRow();
+        int i = items == backing ? row : items instanceof TransformationList<?, ?> t ? t.getSourceIndexFor(backing, row) : -1;
+        if(i >= 0 && i < backing.size() && backing.get(i) == ev.getRowValue()) backing.updated(i);
+        else backing.updated(ev.getRowValue());
+    }
+
+    /** Parses a payout with the format that displays it; the symbol may be left off, but signs, trailing text and out-of-range amounts are rejected. */
+    private static Number parseAmount(NumberFormat currency, String text){
+        String t = text.trim();
+        if(t.indexOf('-') >= 0 || t.indexOf('+') >= 0) throw new NumberFormatException(text);
+        String prefix = currency instanceof DecimalFormat d ? d.getPositivePrefix() : "";
+        if(!t.startsWith(prefix)) t = prefix + t;
+        ParsePosition pos = new ParsePosition(0);
+        Number n = currency.parse(t, pos);
+        if(n == null || pos.getIndex() != t.length() || !OpportunityRecord.isValidPayout(n.doubleValue())) throw new NumberFormatException(text);
+        return n;
+    }
+
+    /** Page source for a browsed table, given the filter text and the table's primary sort column. */
+    private interface BrowseQuery<T> { PageSource<T> query(SnapshotBrowser browser, String filter, TableColumn<T, ?> sortColumn, boolean ascending); }
+
+    /**
+     * "Browse Saved" toggle: shows the saved snapshot through a {@link PagedList} (read-only, rows materialized one
+     * page at a time) instead of the live list. Filter text and column sorts are re-run against the snapshot off the FX thread.
+     * Both tables share the store's one browser; switching off releases it, and if a save or compaction replaces the
+     * saved file meanwhile the toggle switches itself off. In {@link #paged} mode it is switched on and locked, and
+     * a replaced file is simply browsed again.
+     */
+    private <T> ToggleButton browseToggle(TableView<T> table, SortedList<T> live, TextField search, Node editors, BrowseQuery<T> query){
+        ToggleButton tgl = tglBtn("Browse Saved", "primary", MaterialDesign.MDI_BOOK_OPEN_PAGE_VARIANT);
+        tgl.setTooltip(new Tooltip("Page through the saved data without loading it into memory (read-only)"));
+        tgl.disableProperty().bind(paged);
+        paged.addListener((obs, was, on) -> { if (on) tgl.setSelected(true); });
+        PagedList<T> pages = new PagedList<>(BROWSE_PAGE, BROWSE_PAGES);
+        var liveSortPolicy = table.getSortPolicy();
+        SnapshotBrowser[] browser = { null };
+        long[] generation = { 0 };
+        Runnable requery = () -> {
+            SnapshotBrowser b = browser[0];
+            if (b == null) return;
+            String filter = search.getText();
+            TableColumn<T, ?> col = table.getSortOrder().isEmpty() ? null : table.getSortOrder().get(0);
+            boolean asc = col == null || col.getSortType() == TableColumn.SortType.ASCENDING;
+            long gen = ++generation[0];
+            Task<PageSource<T>> task = new Task<>() {
+                @Override protected PageSource<T> call() { return query.query(b, filter, col, asc); }
+            };
+            runTask(task, "Querying saved data...", src -> {
+                if (gen == generation[0] && browser[0] == b) { pages.setSource(src); statusLabel.setText(src.size() + " saved rows" + (paged.get() ? " (large roster, read-only; matching and the dashboard need it loaded)" : "")); }
+            }, ex -> { if (!b.isClosed()) alert("Query failed: " + ex.getMessage()); });
+        };
+        PauseTransition debounce = new PauseTransition(SEARCH_DEBOUNCE);
+        debounce.setOnFinished(e -> requery.run());
+        search.textProperty().addListener((obs, o, n) -> { if (browser[0] != null) debounce.playFromStart(); });
+        tgl.selectedProperty().addListener((obs, was, on) -> {
+            if (on) {
+                Task<SnapshotBrowser> open = new Task<>() {
+                    @Override protected SnapshotBrowser call() throws Exception { return store.browse(); }
+                };
+                runTask(open, "Opening saved data...", b -> {
+                    if (!tgl.isSelected()) { releaseBrowser(b); return; }
+                    browser[0] = b;
+                    b.addCloseListener(() -> Platform.runLater(() -> {
+                        if (browser[0] != b) return;
+                        tgl.setSelected(false);
+                        if (paged.get()) tgl.setSelected(true); else toast("Saved data changed; browse again to see it");
+                    }));
+                    table.setEditable(false); editors.setDisable(true);
+                    table.setItems(pages);
+                    table.setSortPolicy(t -> { requery.run(); return true; });
+                    requery.run();
+                }, ex -> { paged.set(false); tgl.setSelected(false); alert("Could not open saved data: " + ex.getMessage()); });
+            } else {
+                SnapshotBrowser b = browser[0];
+                browser[0] = null;
+                if (b != null) releaseBrowser(b);
+                table.setSortPolicy(liveSortPolicy);
+                table.setItems(live);
+                pages.setSource(PageSource.empty());
+                table.setEditable(true); editors.setDisable(false);
+            }
+        });
+        return tgl;
+    }
+
+    /** The first {@code limit} placements as "name: title" lines; the full list goes out through {@link #exportAssignment}. */
+    private static String placementPreview(AssignmentResult r, int limit){
+        StringBuilder sb = new StringBuilder();
+        int shown = 0;
+        for(int row = 0; row < r.beneficiaryCount() && shown < limit; row++){
+            Opportunity o = r.opportunity(row);
+            if(o == null) continue;
+            sb.append(r.beneficiary(row).getName()).append(": ").append(o.getTitle()).append('\n');
+            shown++;
+        }
+        if(r.assignedCount() > shown) sb.append(String.format("...and %,d more; export to see everyone.", r.assignedCount() - shown));
+        return sb.toString().strip();
+    }
+
+    private void exportAssignment(AssignmentResult r){
+        runTask(ExportTask.assignment(r, false), "Exporting places...", f -> toast("Exported to " + f.getAbsolutePath()), ex -> alert("Export failed"));
+    }
+
+    /** Closing waits for queries in flight, so it happens off the FX thread. */
+    private void releaseBrowser(SnapshotBrowser b){ CompletableFuture.runAsync(() -> store.release(b)); }
+
+    /**
+     * Queue a save on the background saver. Journal records are already immutable; only the first save
+     * (no snapshot on disk yet) needs the rows, taken here on the FX thread as immutable records together with the
+     * journal position they cover, so later edits are neither lost nor half-written.
+     */
+    private void saveAll(){
+        if (store.hasSnapshot()) {
+            saver.request(() -> store.commit());
+        } else {
+            long mark = store.journal().mark();
+            List<BeneficiaryRecord> bs = beneficiaries.stream().map(Beneficiary::toRecord).toList();
+            List<OpportunityRecord> os = opportunities.stream().map(Opportunity::toRecord).toList();
+            saver.request(() -> store.commit(bs, os, mark));
+        }
+    }
+
+    /** Record every list edit in the store's change journal so a save only has to append what changed. */
+    private void journalChanges(){
+        ChangeJournal journal = store.journal();
+        beneficiaries.addListener((ListChangeListener.Change<? extends Beneficiary> c) -> {
+            while (c.next()) {
+                c.getRemoved().forEach(journal::removeBeneficiary);
+                c.getAddedSubList().forEach(journal::putBeneficiary);
+            }
+        });
+        opportunities.addListener((ListChangeListener.Change<? extends Opportunity> c) -> {
+            while (c.next()) {
+                c.getRemoved().forEach(journal::removeOpportunity);
+                c.getAddedSubList().forEach(journal::putOpportunity);
+            }
+        });
+    }
+
+    private Tab buildBeneficiariesTab(){
+        TextField search = new TextField(); search.setPromptText("Filter by name or skill (Ctrl/Cmd+F)"); search.setTooltip(new Tooltip("Type any name or skill to filter"));
+        TableView<Beneficiary> table = new TableView<>(); table.setEditable(true); table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+        TableColumn<Beneficiary, String> nameCol = new TableColumn<>("Name"); nameCol.setCellValueFactory(c -> c.getValue().nameProperty()); nameCol.setCellFactory(TextFieldTableCell.forTableColumn()); nameCol.setOnEditCommit(ev -> { ev.getRowValue().setName(ev.getNewValue()); store.journal().putBeneficiary(ev.getRowValue()); updated(ev, beneficiaries); });
+        TableColumn<Beneficiary, Number> hhCol = new TableColumn<>("Household"); hhCol.setCellValueFactory(c -> c.getValue().householdSizeProperty()); hhCol.setCellFactory(TextFieldTableCell.forTableColumn(numberCells(n -> Integer.toString(n.intValue()), t -> Integer.parseInt(t.trim())))); hhCol.setOnEditCommit(ev -> { Number hh = ev.getNewValue(); if(hh != null && hh.intValue() >= 1){ ev.getRowValue().setHouseholdSize(hh.intValue()); store.journal().putBeneficiary(ev.getRowValue()); updated(ev, beneficiaries); } else alert("Household size must be a whole number of at least 1."); ev.getTableView().refresh(); });
+        TableColumn<Beneficiary, String> skillsCol = new TableColumn<>("Skills"); skillsCol.setCellValueFactory(c -> c.getValue().skillsCsvProperty()); skillsCol.setCellFactory(TextFieldTableCell.forTableColumn()); skillsCol.setOnEditCommit(ev -> { List<String> s = Arrays.stream(ev.getNewValue().split(",")).map(String::trim).filter(x->!x.isEmpty()).toList(); ev.getRowValue().setSkills(s); store.journal().putBeneficiary(ev.getRowValue()); updated(ev, beneficiaries); });
+        TableColumn<Beneficiary, Number> scoreCol = new TableColumn<>("Score"); scoreCol.setCellValueFactory(c -> c.getValue().scoreProperty());
+        table.getColumns().addAll(Arrays.asList(nameCol, hhCol, skillsCol, scoreCol));
+        table.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        selectedBeneficiaries = table.getSelectionModel().getSelectedItems();
+
+        FilteredList<Beneficiary> filtered = new FilteredList<>(beneficiaries, b -> true);
+        DebouncedSearch<Beneficiary> filter = new DebouncedSearch<>(beneficiarySearch, SEARCH_DEBOUNCE, hits -> filtered.setPredicate(hits == null ? null : hits::contains));
+        search.textProperty().addListener((obs, o, n) -> filter.query(n));
+        beneficiaries.addListener((ListChangeListener.Change<? extends Beneficiary> c) -> filter.refresh());
+        SortedList<Beneficiary> sorted = new SortedList<>(filtered); sorted.comparatorProperty().bind(table.comparatorProperty()); table.setItems(sorted);
+
+        VBox card = new VBox(10); card.getStyleClass().add("card"); Label h = new Label("Add Beneficiary"); h.getStyleClass().add("h2");
+        TextField bName = new TextField(); bName.setPromptText("Full name"); TextField bHouse = new TextField(); bHouse.setPromptText("Household size (>=1)"); TextField bSkills = new TextField(); bSkills.setPromptText("e.g., cooking, sewing");
+        Button add = btn("Add", "success", MaterialDesign.MDI_ACCOUNT_PLUS);
+        add.setDefaultButton(true);
+        add.setOnAction(e -> {
+            try {
+                String n = bName.getText().trim();
+                if (n.isEmpty()) {
+                    alert("Please enter a name.");
+                    return;
+                }
+                int hh = Integer.parseInt(bHouse.getText().trim());
+                if (hh < 1) {
+                    alert("Household size must be at least 1.");
+                    return;
+                }
+                List<String> s = Arrays.stream(bSkills.getText().split(",")).map(String::trim).filter(x -> !x.isEmpty()).toList();
+                beneficiaries.add(new Beneficiary(UUID.randomUUID().toString(), n, hh, s));
+                toast("Beneficiary added");
+                bName.clear();
+                bHouse.clear();
+                bSkills.clear();
+            } catch (NumberFormatException ex) {
+                alert("Household size must be a valid number.");
+            }
+        });
+        Button del = btn("Delete Selected", "warn", MaterialDesign.MDI_ACCOUNT_MINUS);
+        del.disableProperty().bind(Bindings.isEmpty(table.getSelectionModel().getSelectedItems()));
+        del.setOnAction(e -> {
+            // Identity set (no equals on the model) so removeAll stays linear with a large selection
+            Set<Beneficiary> gone = new HashSet<>(table.getSelectionModel().getSelectedItems());
+            if (gone.isEmpty()) return;
+            TransactionalList.Transaction tx = beneficiaries.begin();
+            try {
+                beneficiaries.removeAll(gone);
+            } finally {
+                tx.close();
+            }
+            toast(gone.size() == 1 ? "Beneficiary removed" : gone.size() + " beneficiaries removed");
+        });
+        Button export = btn("Export CSV", "primary", MaterialDesign.MDI_EXPORT); export.disableProperty().bind(paged);
+        CheckBox gzip = new CheckBox("gzip"); gzip.setTooltip(new Tooltip("Compress the export (.csv.gz)"));
+        export.setOnAction(e -> runTask(ExportTask.beneficiaries(beneficiaries, gzip.isSelected()), "Exporting beneficiaries...",
+            f -> toast("Exported to " + f.getAbsolutePath()), ex -> alert("Export failed")));
+        GridPane gp = new GridPane(); gp.setHgap(10); gp.setVgap(8); gp.addRow(0, new Label("Name:"), bName); gp.addRow(1, new Label("Household:"), bHouse); gp.addRow(2, new Label("Skills:"), bSkills); gp.add(new HBox(8, add, del), 1, 3);
+        card.getChildren().addAll(h, gp);
+        ToggleButton browse = browseToggle(table, sorted, search, card, (b, f, col, asc) -> b.beneficiaries(f,
+            col == nameCol ? SnapshotBrowser.BeneficiaryKey.NAME : col == skillsCol ? SnapshotBrowser.BeneficiaryKey.SKILLS : col == hhCol ? SnapshotBrowser.BeneficiaryKey.HOUSEHOLD : col == scoreCol ? SnapshotBrowser.BeneficiaryKey.SCORE : null, asc));
+        HBox topRow = new HBox(12, new Label("Filter:"), search, export, gzip, browse); topRow.setAlignment(Pos.CENTER_LEFT); HBox.setHgrow(search, Priority.SOMETIMES);
+        HBox row = new HBox(12, table, card); HBox.setHgrow(table, Priority.ALWAYS); VBox.setVgrow(table, Priority.ALWAYS);
+        VBox box = new VBox(12, topRow, row); box.setPadding(new Insets(16));
+        return new Tab("Beneficiaries", box);
+    }
+
+    private Tab buildOpportunitiesTab(){
+        TextField search = new TextField(); search.setPromptText("Filter by title or skill");
+        TableView<Opportunity> table = new TableView<>(); table.setEditable(true); table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+        NumberFormat currency = NumberFormat.getCurrencyInstance(Locale.forLanguageTag("ms-MY"));
+        TableColumn<Opportunity, String> tCol = new TableColumn<>("Title"); tCol.setCellValueFactory(c -> c.getValue().titleProperty()); tCol.setCellFactory(TextFieldTableCell.forTableColumn()); tCol.setOnEditCommit(ev -> { ev.getRowValue().setTitle(ev.getNewValue()); store.journal().putOpportunity(ev.getRowValue()); updated(ev, opportunities); });
+        TableColumn<Opportunity, String> rCol = new TableColumn<>("Required Skills"); rCol.setCellValueFactory(c -> c.getValue().requiredSkillsCsvProperty()); rCol.setCellFactory(TextFieldTableCell.forTableColumn()); rCol.setOnEditCommit(ev -> { List<String> s = Arrays.stream(ev.getNewValue().split(",")).map(String::trim).filter(x->!x.isEmpty()).toList(); ev.getRowValue().setRequiredSkills(s); matcher.index().reindex(ev.getRowValue()); store.journal().putOpportunity(ev.getRowValue()); updated(ev, opportunities); });
+        TableColumn<Opportunity, Number> pCol = new TableColumn<>("Payout"); pCol.setCellValueFactory(c -> c.getValue().payoutProperty()); pCol.setCellFactory(TextFieldTableCell.forTableColumn(numberCells(currency::format, t -> parseAmount(currency, t)))); pCol.setOnEditCommit(ev -> { Number pay = ev.getNewValue(); if(pay != null && OpportunityRecord.isValidPayout(pay.doubleValue())){ ev.getRowValue().setPayout(pay.doubleValue()); store.journal().putOpportunity(ev.getRowValue()); updated(ev, opportunities); } else alert(PAYOUT_RULE); ev.getTableView().refresh(); });
+        TableColumn<Opportunity, Number> cCol = new TableColumn<>("Places"); cCol.setCellValueFactory(c -> c.getValue().capacityProperty()); cCol.setCellFactory(TextFieldTableCell.forTableColumn(numberCells(n -> Integer.toString(n.intValue()), t -> Integer.parseInt(t.trim())))); cCol.setOnEditCommit(ev -> { Number places = ev.getNewValue(); if(places != null && places.intValue() >= 1){ ev.getRowValue().setCapacity(places.intValue()); store.journal().putOpportunity(ev.getRowValue()); updated(ev, opportunities); } else alert("Places must be a whole number of at least 1."); ev.getTableView().refresh(); });
+        table.getColumns().addAll(Arrays.asList(tCol, rCol, pCol, cCol));
+
+        FilteredList<Opportunity> filtered = new FilteredList<>(opportunities, o -> true);
+        DebouncedSearch<Opportunity> filter = new DebouncedSearch<>(opportunitySearch, SEARCH_DEBOUNCE, hits -> filtered.setPredicate(hits == null ? null : hits::contains));
+        search.textProperty().addListener((obs, o, n) -> filter.query(n));
+        opportunities.addListener((ListChangeListener.Change<? extends Opportunity> c) -> filter.refresh());
+        SortedList<Opportunity> sorted = new SortedList<>(filtered); sorted.comparatorProperty().bind(table.comparatorProperty()); table.setItems(sorted);
+
+        VBox card = new VBox(10); card.getStyleClass().add("card"); Label h = new Label("Add Opportunity"); h.getStyleClass().add("h2");
+        TextField oTitle = new TextField(); oTitle.setPromptText("Title"); TextField oSkills = new TextField(); oSkills.setPromptText("e.g., data entry, typing"); TextField oPayout = new TextField(); oPayout.setPromptText("Payout (MYR)"); TextField oPlaces = new TextField(); oPlaces.setPromptText("Places (default 1)");
+        Button add = btn("Add", "success", MaterialDesign.MDI_PLUS);
+        add.setDefaultButton(true);
+        add.setOnAction(e -> {
+            try {
+                String tt = oTitle.getText().trim();
+                if (tt.isEmpty()) {
+                    alert("Please enter a title.");
+                    return;
+                }
+                double pay = Double.parseDouble(oPayout.getText().trim());
+                if (!OpportunityRecord.isValidPayout(pay)) {
+                    alert(PAYOUT_RULE);
+                    return;
+                }
+                int places = oPlaces.getText().isBlank() ? 1 : Integer.parseInt(oPlaces.getText().trim());
+                if (places < 1) {
+                    alert("Places must be at least 1.");
+                    return;
+                }
+                List<String> s = Arrays.stream(oSkills.getText().split(",")).map(String::trim).filter(x -> !x.isEmpty()).toList();
+                Opportunity o = new Opportunity(UUID.randomUUID().toString(), tt, s, pay);
+                o.setCapacity(places);
+                opportunities.add(o);
+                toast("Opportunity added");
+                oTitle.clear();
+                oSkills.clear();
+                oPayout.clear();
+                oPlaces.clear();
+            } catch (NumberFormatException ex) {
+                alert("Payout and places must be valid numbers.");
+            }
+        });
+        Button del = btn("Delete Selected", "warn", MaterialDesign.MDI_MINUS);
+        del.disableProperty().bind(Bindings.isEmpty(table.getSelectionModel().getSelectedItems()));
+        del.setOnAction(e -> {
+            Opportunity o = table.getSelectionModel().getSelectedItem();
+            if (o != null) {
+                opportunities.remove(o);
+                toast("Opportunity removed");
+            }
+        });
+        Button export = btn("Export CSV", "primary", MaterialDesign.MDI_EXPORT); export.disableProperty().bind(paged);
+        CheckBox gzip = new CheckBox("gzip"); gzip.setTooltip(new Tooltip("Compress the export (.csv.gz)"));
+        export.setOnAction(e -> runTask(ExportTask.opportunities(opportunities, gzip.isSelected()), "Exporting opportunities...",
+            f -> toast("Exported to " + f.getAbsolutePath()), ex -> alert("Export failed")));
+
+        GridPane gp = new GridPane(); gp.setHgap(10); gp.setVgap(8); gp.addRow(0, new Label("Title:"), oTitle); gp.addRow(1, new Label("Required Skills:"), oSkills); gp.addRow(2, new Label("Payout (MYR):"), oPayout); gp.addRow(3, new Label("Places:"), oPlaces); gp.add(new HBox(8, add, del), 1, 4);
+        card.getChildren().addAll(h, gp);
+
+        ToggleButton browse = browseToggle(table, sorted, search, card, (b, f, col, asc) -> b.opportunities(f,
+            col == tCol ? SnapshotBrowser.OpportunityKey.TITLE : col == rCol ? SnapshotBrowser.OpportunityKey.SKILLS : col == pCol ? SnapshotBrowser.OpportunityKey.PAYOUT : col == cCol ? SnapshotBrowser.OpportunityKey.CAPACITY : null, asc));
+        HBox topRow = new HBox(12, new Label("Filter:"), search, export, gzip, browse); topRow.setAlignment(Pos.CENTER_LEFT); HBox.setHgrow(search, Priority.SOMETIMES);
+        HBox row = new HBox(12, table, card); HBox.setHgrow(table, Priority.ALWAYS); VBox box = new VBox(12, topRow, row); box.setPadding(new Insets(16)); VBox.setVgrow(table, Priority.ALWAYS);
+        return new Tab("Opportunities", box);
+    }
+
+    private Tab buildMatchWalletTab() {
+        // --- Main Container ---
+        VBox mainLayout = new VBox(20);
+        mainLayout.setPadding(new Insets(16));
+
+        // --- 1. Beneficiary Selection ---
+        VBox selectionPane = new VBox(10);
+        Label selectionHeader = new Label("Step 1: Select a Beneficiary");
+        selectionHeader.getStyleClass().add("h2");
+        ComboBox<Beneficiary> picker = new ComboBox<>(beneficiaries);
+        picker.setPromptText("Choose a beneficiary to begin...");
+        picker.setPrefWidth(400);
+        TextField pickerSearch = new TextField();
+        pickerSearch.setPromptText("Type a name or skill to narrow the list...");
+        pickerSearch.setPrefWidth(300);
+        // Type-ahead: the picker lists the first matches from the search index instead of every beneficiary
+        DebouncedSearch<Beneficiary> pickerFilter = new DebouncedSearch<>(beneficiarySearch, SEARCH_DEBOUNCE, hits -> {
+            picker.setItems(hits == null ? beneficiaries : FXCollections.observableArrayList(hits.first(PICKER_LIMIT)));
+            if (hits != null && hits.size() > 0) picker.show();
+        });
+        pickerSearch.textProperty().addListener((obs, o, n) -> pickerFilter.query(n));
+        HBox pickerRow = new HBox(10, pickerSearch, picker);
+        pickerRow.setAlignment(Pos.CENTER_LEFT);
+        selectionPane.getChildren().addAll(selectionHeader, pickerRow);
+
+        // --- 2. Matching Pane ---
+        VBox matchingPane = new VBox(12);
+        Label matchingHeader = new Label("Step 2: Find Opportunity Matches");
+        matchingHeader.getStyleClass().add("h3");
+
+        // Matching Controls
+        Slider overlap = new Slider(0, 5, 1);
+        overlap.setShowTickMarks(true);
+        overlap.setShowTickLabels(true);
+        overlap.setMajorTickUnit(1);
+        overlap.setMinorTickCount(0);
+        overlap.setSnapToTicks(true);
+        Label overlapLbl = new Label();
+        overlapLbl.textProperty().bind(Bindings.format("Minimum Skills in Common: %.0f", overlap.valueProperty()));
+        Button matchBtn = btn("Find Matches", "primary", MaterialDesign.MDI_ACCOUNT_SEARCH);
+        Button matchAllBtn = btn("Match Everyone", "info", MaterialDesign.MDI_ACCOUNT_MULTIPLE);
+        Button weightsBtn = btn("Ranking", "info", MaterialDesign.MDI_TUNE);
+        weightsBtn.setTooltip(new Tooltip("Weights for skills, payout and household priority, and how many matches to keep"));
+        matchAllBtn.setTooltip(new Tooltip("Run the full beneficiary x opportunity match table in the background"));
+        Button assignBtn = btn("Assign Places", "success", MaterialDesign.MDI_ACCOUNT_CHECK);
+        assignBtn.setTooltip(new Tooltip("Give everyone at most one opportunity within each opportunity's places, favouring priority households and close fits"));
+        Button exportPlacesBtn = btn("Export Places", "primary", MaterialDesign.MDI_EXPORT);
+        exportPlacesBtn.setTooltip(new Tooltip("Save the last assignment (who got which place) as CSV"));
+        exportPlacesBtn.setDisable(lastAssignment == null);
+
+        GridPane matchingGrid = new GridPane();
+        matchingGrid.setHgap(10);
+        matchingGrid.setVgap(10);
+        matchingGrid.add(overlapLbl, 0, 0);
+        matchingGrid.add(overlap, 1, 0);
+        matchingGrid.add(new HBox(8, weightsBtn, assignBtn, exportPlacesBtn, matchAllBtn, matchBtn), 1, 1);
+        GridPane.setHgrow(overlap, Priority.ALWAYS);
+
+        // Matching Results Table
+        TableView<MatchingService.Scored> table = new TableView<>(matches);
+        table.setPlaceholder(new Label("Matching results will appear here."));
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+        // Rows arrive best first; rank and score are fixed per run, so they are plain read-only values
+        TableColumn<MatchingService.Scored, Number> rankCol = new TableColumn<>("Rank");
+        rankCol.setCellValueFactory(c -> new ReadOnlyIntegerWrapper(c.getValue().rank()));
+        rankCol.setMaxWidth(80);
+        TableColumn<MatchingService.Scored, String> tCol = new TableColumn<>("Matched Opportunity");
+        tCol.setCellValueFactory(c -> c.getValue().opportunity().titleProperty());
+        TableColumn<MatchingService.Scored, String> rCol = new TableColumn<>("Required Skills");
+        rCol.setCellValueFactory(c -> c.getValue().opportunity().requiredSkillsCsvProperty());
+        TableColumn<MatchingService.Scored, Number> pCol = new TableColumn<>("Payout");
+        pCol.setCellValueFactory(c -> c.getValue().opportunity().payoutProperty());
+        TableColumn<MatchingService.Scored, Number> sCol = new TableColumn<>("Score");
+        sCol.setCellValueFactory(c -> new ReadOnlyDoubleWrapper(Math.round(c.getValue().score() * 1000) / 10.0));
+        table.getColumns().addAll(Arrays.asList(rankCol, tCol, rCol, pCol, sCol));
+        VBox.setVgrow(table, Priority.ALWAYS);
+
+        matchingPane.getChildren().addAll(matchingHeader, matchingGrid, table);
+
+        // --- Live Feed ---
+        // Pairs that start or stop matching as opportunities and skills are edited, at the slider's minimum overlap
+        VBox feedPane = new VBox(8);
+        Label feedHeader = new Label("Live Matches");
+        feedHeader.getStyleClass().add("h3");
+        Label feedHint = new Label("New and lost matches appear here as opportunities and skills change. Double-click one to open that beneficiary.");
+        feedHint.setWrapText(true);
+        ListView<IncrementalMatcher.Event> feed = new ListView<>(matchFeed);
+        feed.setPlaceholder(new Label("No changes yet."));
+        feed.setPrefHeight(160);
+        feed.setCellFactory(lv -> new ListCell<>() {
+            @Override protected void updateItem(IncrementalMatcher.Event ev, boolean empty) {
+                super.updateItem(ev, empty);
+                setText(empty || ev == null ? null : String.format("%s  %s  \u2194  %s (%d skill%s in common)",
+                    ev.kind() == IncrementalMatcher.Kind.NEW ? "New match" : "Match lost", ev.beneficiary().getName(),
+                    ev.opportunity().getTitle(), ev.overlap(), ev.overlap() == 1 ? "" : "s"));
+            }
+        });
+        feed.setOnMouseClicked(e -> {
+            IncrementalMatcher.Event ev = feed.getSelectionModel().getSelectedItem();
+            if (e.getClickCount() == 2 && ev != null && beneficiaries.contains(ev.beneficiary())) picker.setValue(ev.beneficiary());
+        });
+        Button clearFeed = btn("Clear", "warn", MaterialDesign.MDI_DELETE_SWEEP);
+        clearFeed.disableProperty().bind(Bindings.isEmpty(matchFeed));
+        clearFeed.setOnAction(e -> matchFeed.clear());
+        Pane feedSpacer = new Pane(); HBox.setHgrow(feedSpacer, Priority.ALWAYS);
+        HBox feedTop = new HBox(10, feedHeader, feedSpacer, clearFeed);
+        feedTop.setAlignment(Pos.CENTER_LEFT);
+        feedPane.getChildren().addAll(feedTop, feedHint, feed);
+        liveMatcher.setMinOverlap((int) overlap.getValue());
+        overlap.valueProperty().addListener((obs, o, n) -> liveMatcher.setMinOverlap(n.intValue()));
+        
+        // --- 3. Wallet Pane ---
+        VBox walletPane = new VBox(12);
+        Label walletHeader = new Label("Step 3: Provide Direct Support");
+        walletHeader.getStyleClass().add("h3");
+        Label walletDesc = new Label();
+        walletDesc.setWrapText(true);
+
+        // Wallet Controls
+        TextField fromField = new TextField();
+        fromField.setPromptText("e.g., 'Community Fund'");
+        TextField amount = new TextField();
+        amount.setPromptText("e.g., 150.00");
+        Button sendBtn = btn("Send Support", "success", MaterialDesign.MDI_SEND);
+        Button cohortBtn = btn("Pay Cohort", "info", MaterialDesign.MDI_CASH_MULTIPLE);
+        cohortBtn.setTooltip(new Tooltip("Send the amount to every beneficiary matched to the selected opportunity, or to the rows selected in the Beneficiaries tab"));
+
+        GridPane walletGrid = new GridPane();
+        walletGrid.setHgap(10);
+        walletGrid.setVgap(8);
+        walletGrid.addRow(0, new Label("From (Donor):"), fromField);
+        walletGrid.addRow(1, new Label("Amount (MYR):"), amount);
+        HBox walletActions = new HBox(8, cohortBtn, sendBtn);
+        walletActions.setAlignment(Pos.CENTER_RIGHT);
+        walletGrid.add(walletActions, 1, 2);
+
+        walletPane.getChildren().addAll(walletHeader, walletDesc, walletGrid);
+
+        // --- Event Handling & Logic ---
+        matchingPane.setDisable(true);
+        sendBtn.setDisable(true);
+
+        picker.valueProperty().addListener((obs, old, val) -> {
+            boolean disabled = (val == null);
+            matchingPane.setDisable(disabled);
+            sendBtn.setDisable(disabled);
+            matches.clear();
+            if (val != null) {
+                walletDesc.setText("You are about to send support to " + val.getName() + ". This is a demo; no real money will be transferred.");
+            }
+        });
+
+        matchBtn.setOnAction(e -> {
+            Beneficiary b = picker.getValue();
+            int min = (int) overlap.getValue();
+            matches.setAll(matcher.rank(b, min, settings.getMatchTopK(), settings.getMatchWeights()));
+            toast("Top " + matches.size() + " matches for " + b.getName());
+        });
+
+        weightsBtn.setOnAction(e -> showMatchWeights());
+
+        matchAllBtn.setOnAction(e -> {
+            int min = (int) overlap.getValue();
+            List<Beneficiary> bs = new ArrayList<>(beneficiaries);
+            List<Opportunity> os = new ArrayList<>(opportunities);
+            Task<BatchMatchResult> task = new Task<>() {
+                @Override protected BatchMatchResult call() { return matcher.matchAll(bs, os, min, BATCH_TOP_K); }
+            };
+            matchAllBtn.setDisable(true);
+            task.runningProperty().addListener((obs, was, running) -> matchAllBtn.setDisable(running));
+            runTask(task, "Matching " + bs.size() + " beneficiaries...", r -> {
+                overlays.showInfo("Match Table Ready", r.toString());
+                toast(String.format("Matched %d beneficiaries (%.0f pairs/s)", r.beneficiaryCount(), r.pairsPerSecond()));
+            }, ex -> alert("Batch matching failed."));
+        });
+
+        assignBtn.setOnAction(e -> {
+            int min = (int) overlap.getValue();
+            List<Beneficiary> bs = new ArrayList<>(beneficiaries);
+            List<Opportunity> os = new ArrayList<>(opportunities);
+            AssignmentResult previous = lastAssignment;
+            Task<AssignmentResult> task = new Task<>() {
+                @Override protected AssignmentResult call() { return matcher.assign(bs, os, min, previous); }
+            };
+            assignBtn.setDisable(true);
+            task.runningProperty().addListener((obs, was, running) -> assignBtn.setDisable(running));
+            runTask(task, "Assigning places for " + bs.size() + " beneficiaries...", r -> {
+                lastAssignment = r;
+                exportPlacesBtn.setDisable(false);
+                overlays.showConfirm("Places Assigned", r + "\n\n" + placementPreview(r, PLACEMENT_PREVIEW), "Export CSV", "Close", () -> exportAssignment(r));
+                toast(String.format("Placed %,d of %,d beneficiaries", r.assignedCount(), r.beneficiaryCount()));
+            }, ex -> alert("Assignment failed."));
+        });
+        exportPlacesBtn.setOnAction(e -> { if (lastAssignment != null) exportAssignment(lastAssignment); });
+
+        sendBtn.setOnAction(e -> {
+            try {
+                String from = fromField.getText().trim();
+                if (from.isEmpty()) {
+                    alert("Please enter a donor name or source.");
+                    return;
+                }
+                String toId = picker.getValue().getId();
+                double amt = Double.parseDouble(amount.getText().trim());
+                if (amt <= 0) {
+                    alert("Amount must be a positive number.");
+                    return;
+                }
+                String msg = wallet.transfer(from, toId, amt);
+                overlays.showInfo("Transfer Successful", msg);
+                amount.clear();
+                fromField.clear();
+                toast("Transfer simulated successfully.");
+            } catch (NumberFormatException ex) {
+                alert("Amount must be a valid number.");
+            } catch (Exception ex) {
+                System.err.println("Transfer failed: " + ex.getMessage());
+                alert("Transfer failed unexpectedly.");
+            }
+        });
+
+        cohortBtn.setOnAction(e -> {
+            String from = fromField.getText().trim();
+            if (from.isEmpty()) {
+                alert("Please enter a donor name or source.");
+                return;
+            }
+            double amt;
+            try {
+                amt = Double.parseDouble(amount.getText().trim());
+            } catch (NumberFormatException ex) {
+                alert("Amount must be a valid number.");
+                return;
+            }
+            if (amt <= 0) {
+                alert("Amount must be a positive number.");
+                return;
+            }
+            // Cohort: everyone matched to the selected opportunity, otherwise the Beneficiaries tab selection
+            MatchingService.Scored selected = table.getSelectionModel().getSelectedItem();
+            Opportunity o = selected == null ? null : selected.opportunity();
+            List<Beneficiary> cohort;
+            if (o != null) {
+                int min = Math.max(1, (int) overlap.getValue());
+                cohort = beneficiaries.stream().filter(b -> b.getSkillSet().overlap(o.getRequiredSkillSet()) >= min).toList();
+            } else {
+                cohort = List.copyOf(selectedBeneficiaries);
+            }
+            if (cohort.isEmpty()) {
+                alert("Select a matched opportunity above, or beneficiaries in the Beneficiaries tab.");
+                return;
+            }
+            List<WalletService.Leg> legs = cohort.stream().map(b -> WalletService.Leg.of(b.getId(), amt)).toList();
+            Task<WalletService.BatchSummary> task = new Task<>() {
+                @Override protected WalletService.BatchSummary call() { return wallet.transferBatch(from, legs); }
+            };
+            cohortBtn.setDisable(true);
+            task.runningProperty().addListener((obs, was, running) -> cohortBtn.setDisable(running));
+            runTask(task, "Paying " + legs.size() + " beneficiaries...", r -> {
+                overlays.showInfo(r.applied() ? "Cohort Paid" : "Cohort Not Paid", r.toString());
+                if (r.applied()) toast("Paid " + r.legs() + " beneficiaries.");
+            }, ex -> alert("Cohort payout failed: " + ex.getMessage()));
+        });
+
+        // --- ASSEMBLY ---
+        mainLayout.getChildren().addAll(selectionPane, new Separator(javafx.geometry.Orientation.HORIZONTAL), matchingPane, new Separator(javafx.geometry.Orientation.HORIZONTAL), feedPane, new Separator(javafx.geometry.Orientation.HORIZONTAL), walletPane);
+        return new Tab("Match & Support", mainLayout);
+    }
+
+    private Tab buildInsightsTab() {
+        // --- 1. KPI TILES ---
+        TilePane kpiPane = new TilePane(12, 12);
+        kpiPane.setPrefColumns(4);
+
+        Label totalBeneficiaries = new Label();
+        totalBeneficiaries.textProperty().bind(Bindings.size(beneficiaries).asString());
+        Label totalOpportunities = new Label();
+        totalOpportunities.textProperty().bind(Bindings.size(opportunities).asString());
+
+        Label avgHouseholdSize = new Label();
+        Label totalPayout = new Label();
+        NumberFormat currency = NumberFormat.getCurrencyInstance(Locale.forLanguageTag("ms-MY"));
+
+        kpiPane.getChildren().addAll(
+            createKpiCard("Total Beneficiaries", totalBeneficiaries),
+            createKpiCard("Total Opportunities", totalOpportunities),
+            createKpiCard("Avg. Household Size", avgHouseholdSize),
+            createKpiCard("Total Opportunity Value", totalPayout)
+        );
+
+        // --- 2. CHARTS ---
+        // Pie Chart: Top 5 Required Skills
+        PieChart skillsPieChart = new PieChart();
+        skillsPieChart.setTitle("Top 5 In-Demand Skills");
+        skillsPieChart.setLegendVisible(true);
+        skillsPieChart.setLegendSide(javafx.geometry.Side.RIGHT);
+
+
+        // Bar Chart: Top 5 Highest Payout Opportunities
+        CategoryAxis yAxis = new CategoryAxis();
+        NumberAxis xAxis = new NumberAxis();
+        xAxis.setLabel("Payout (MYR)");
+        BarChart<Number, String> payoutBarChart = new BarChart<>(xAxis, yAxis);
+        payoutBarChart.setTitle("Top 5 Highest Payout Opportunities");
+        payoutBarChart.setLegendVisible(false);
+
+
+        // Bar Chart: Beneficiaries by Skill Count
+        CategoryAxis skillCountXAxis = new CategoryAxis();
+        skillCountXAxis.setLabel("Number of Skills");
+        NumberAxis skillCountYAxis = new NumberAxis();
+        skillCountYAxis.setLabel("Number of Beneficiaries");
+        skillCountYAxis.setTickUnit(1);
+        skillCountYAxis.setMinorTickCount(0);
+
+        BarChart<String, Number> skillCountBarChart = new BarChart<>(skillCountXAxis, skillCountYAxis);
+        skillCountBarChart.setTitle("Beneficiary Skill Distribution");
+        skillCountBarChart.setLegendVisible(false);
+
+        // --- Refresh from the incremental aggregates (each read is O(top-K) or O(distinct skill counts)) ---
+        Runnable refresh = () -> {
+            avgHouseholdSize.setText(String.format("%.1f", insights.averageHouseholdSize()));
+            totalPayout.setText(currency.format(insights.totalPayout()));
+
+            List<PieChart.Data> pieData = insights.topSkills(5).stream()
+                .map(entry -> new PieChart.Data(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+            skillsPieChart.setData(FXCollections.observableArrayList(pieData));
+
+            XYChart.Series<Number, String> payoutSeries = new XYChart.Series<>();
+            insights.topPayouts(5).forEach(o -> payoutSeries.getData().add(new XYChart.Data<>(o.getPayout(), o.getTitle())));
+            payoutBarChart.setData(FXCollections.observableArrayList(payoutSeries));
+
+            XYChart.Series<String, Number> series = new XYChart.Series<>();
+            series.setName("Beneficiaries");
+            insights.skillCountHistogram().forEach((skills, count) ->
+                series.getData().add(new XYChart.Data<>(skills + (skills == 1 ? " Skill" : " Skills"), count)));
+            skillCountBarChart.setData(FXCollections.observableArrayList(series));
+        };
+        // Many changes within one frame (bulk loads, imports) redraw the charts once
+        PulseCoalescer redraw = new PulseCoalescer(refresh);
+        insights.addListener(redraw::request);
+        refresh.run();
+
+
+        // --- ASSEMBLY ---
+        GridPane chartsPane = new GridPane();
+        chartsPane.setHgap(20);
+        chartsPane.setVgap(20);
+        chartsPane.add(skillsPieChart, 0, 0);
+        chartsPane.add(payoutBarChart, 1, 0);
+        chartsPane.add(skillCountBarChart, 0, 1, 2, 1); // Span 2 columns
+        GridPane.setHgrow(skillsPieChart, Priority.ALWAYS);
+        GridPane.setHgrow(payoutBarChart, Priority.ALWAYS);
+        GridPane.setHgrow(skillCountBarChart, Priority.ALWAYS);
+        VBox.setVgrow(chartsPane, Priority.ALWAYS);
+
+        VBox mainContent = new VBox(20, kpiPane, chartsPane);
+        mainContent.setPadding(new Insets(16));
+        
+        ScrollPane sp = new ScrollPane(mainContent);
+        sp.setFitToWidth(true);
+        sp.setFitToHeight(true);
+
+        return new Tab("Dashboard", sp);
+    }
+
+    private VBox createKpiCard(String title, Label valueLabel) {
+        VBox card = new VBox(5);
+        card.getStyleClass().add("card");
+        card.setPadding(new Insets(12));
+        card.setAlignment(Pos.CENTER_LEFT);
+
+        Label titleLabel = new Label(title);
+        titleLabel.getStyleClass().add("kpi-title");
+
+        valueLabel.getStyleClass().add("kpi-value");
+
+        FontIcon icon = switch (title) {
+            case "Total Beneficiaries" -> IconProvider.getIcon(MaterialDesign.MDI_ACCOUNT_MULTIPLE);
+            case "Total Opportunities" -> IconProvider.getIcon(MaterialDesign.MDI_BRIEFCASE);
+            case "Avg. Household Size" -> IconProvider.getIcon(MaterialDesign.MDI_HOME_OUTLINE);
+            case "Total Opportunity Value" -> IconProvider.getIcon(MaterialDesign.MDI_CURRENCY_USD);
+            default -> null;
+        };
+
+        if (icon != null) {
+            icon.getStyleClass().add("kpi-icon");
+            HBox titleRow = new HBox(8, icon, titleLabel);
+            titleRow.setAlignment(Pos.CENTER_LEFT);
+            card.getChildren().addAll(titleRow, valueLabel);
+        } else {
+            card.getChildren().addAll(titleLabel, valueLabel);
+        }
+
+        return card;
+    }
+
+    /**
+     * Loads every saved row into the live lists, which editing, matching, the dashboard and the journal work on. A
+     * roster that would take more than half the heap is not loaded: the app starts {@link #paged}, with both tables
+     * on the saved file through a {@link PagedList} (read-only, sorted and filtered by the store) and the tabs that
+     * need every row disabled. {@code -Dliftup.paged=true|false} forces either mode.
+     */
+    private void loadData(){
+        String force = System.getProperty("liftup.paged");
+        long budget = Runtime.getRuntime().maxMemory() / 2 / LIVE_ROW_BYTES;
+        if(force != null ? Boolean.parseBoolean(force) && store.savedRowsExceed(0) : store.savedRowsExceed(budget)){
+            paged.set(true);
+            statusLabel.setText("Large roster: browsing the saved data read-only. Matching and the dashboard need it loaded (-Dliftup.paged=false).");
+            return;
+        }
+        store.load(false, DataStore.DEFAULT_BATCH, new SnapshotReader.Sink() {
+            @Override public void beneficiaries(List<Beneficiary> batch) { beneficiaries.addAll(batch); }
+            @Override public void opportunities(List<Opportunity> batch) { opportunities.addAll(batch); }
+        });
+    }
+
+    @Override
+    public void stop() {
+        saver.shutdown(5000);
+        store.close();
+        wallet.close();
+    }
+
+    /** Journal-backed wallet; falls back to an in-memory one if ~/.liftup/wallet cannot be opened. */
+    private static WalletService openWallet() {
+        try { return WalletService.durable(); }
+        catch (Exception e) { System.err.println("Wallet journal unavailable, balances will not be kept: " + e.getMessage()); return new WalletService(); }
+    }
+
+    public static void main(String[] args){ launch(args); }
+}
@@ -0,0 +1,228 @@
+package com.liftup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.gson.stream.JsonWriter;
+import com.liftup.models.BeneficiaryRecord;
+import com.liftup.models.OpportunityRecord;
+import com.liftup.models.SkillSet;
+import com.liftup.services.BinarySnapshot;
+import com.liftup.services.ChangeJournal;
+import com.liftup.services.RecordReader;
+import com.liftup.services.SkillMatcher;
+import com.liftup.util.CsvWriter;
+import com.liftup.util.Importer;
+
+/**
+ * Headless batch matcher for server jobs. It only touches the toolkit-free records, {@link SkillSet} and
+ * {@link SkillMatcher}, so it needs Gson but no JavaFX at all:
+ * <pre>
+ * java -cp liftup.jar:gson.jar com.liftup.MatchCli [options] input...
+ *
+ * input               data.json or data.bin snapshot (with the data.journal beside it applied), or exported/NDJSON
+ *                     import files (.csv, .ndjson, .jsonl, .gz)
+ * --min-overlap n     minimum shared skills (default 1)
+ * --top k             keep the best k matches per beneficiary (default 0 = all)
+ * --format csv|ndjson output format (default csv, or from the output file name)
+ * --out file          output file, gzipped if it ends in .gz (default stdout)
+ * </pre>
+ * Matches stream out in beneficiary order, best overlap first, while the next chunk of beneficiaries is matched
+ * on the common pool. A summary goes to stderr.
+ */
+public final class MatchCli {
+    private static final int CHUNK = 8192;
+
+    private enum Format { CSV, NDJSON }
+
+    private MatchCli() {}
+
+    public static void main(String[] args) throws IOException {
+        int min = 1, top = 0; Format format = null; File outFile = null;
+        List<File> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            if (!a.startsWith("--")) { inputs.add(new File(a)); continue; }
+            if (i + 1 >= args.length) usage("missing value for " + a);
+            String v = args[++i];
+            try {
+                switch (a) {
+                    case "--min-overlap" -> min = Integer.parseInt(v);
+                    case "--top" -> top = Integer.parseInt(v);
+                    case "--format" -> format = Format.valueOf(v.toUpperCase(Locale.ROOT));
+                    case "--out" -> outFile = new File(v);
+                    default -> usage("unknown option " + a);
+                }
+            } catch (IllegalArgumentException e) {
+                usage("bad value for " + a + ": " + v);
+            }
+        }
+        if (inputs.isEmpty()) usage("no input files");
+        if (min < 1 || top < 0) usage("--min-overlap must be at least 1 and --top at least 0");
+        if (format == null) format = outFile != null && outFile.getName().toLowerCase(Locale.ROOT).matches(".*\\.(ndjson|jsonl)(\\.gz)?") ? Format.NDJSON : Format.CSV;
+
+        long start = System.nanoTime();
+        List<BeneficiaryRecord> beneficiaries = new ArrayList<>();
+        List<OpportunityRecord> opportunities = new ArrayList<>();
+        RecordReader.Sink sink = new RecordReader.Sink() {
+            @Override public void beneficiaries(List<BeneficiaryRecord> batch) { beneficiaries.addAll(batch); }
+            @Override public void opportunities(List<OpportunityRecord> batch) { opportunities.addAll(batch); }
+        };
+        long invalid = 0;
+        for (File in : inputs) {
+            if (!in.isFile()) { System.err.println("No such file: " + in); System.exit(1); }
+            invalid += read(in, sink);
+        }
+        long loaded = System.nanoTime();
+
+        long matches;
+        try (OutputStream raw = outFile == null ? System.out : new FileOutputStream(outFile);
+             OutputStream os = outFile != null && outFile.getName().endsWith(".gz") ? new GZIPOutputStream(raw, 1 << 16) : raw;
+             Writer w = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8), 1 << 16)) {
+            matches = match(beneficiaries, opportunities, min, top, format == Format.CSV ? new Csv(w) : new Ndjson(w));
+        }
+        long done = System.nanoTime();
+        System.err.printf("%d beneficiaries x %d opportunities%s: %d matches (min overlap %d%s); read %.0f ms, matched and wrote %.0f ms%n",
+            beneficiaries.size(), opportunities.size(), invalid > 0 ? " (" + invalid + " invalid records skipped)" : "", matches, min,
+            top > 0 ? ", top " + top : "", (loaded - start) / 1e6, (done - loaded) / 1e6);
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("usage: MatchCli [--min-overlap n] [--top k] [--format csv|ndjson] [--out file] input...");
+        System.exit(2);
+    }
+
+    /** Returns the number of invalid records skipped. */
+    private static long read(File in, RecordReader.Sink sink) throws IOException {
+        String name = in.getName().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".bin") || name.endsWith(".json")) {
+            Path dir = in.getAbsoluteFile().toPath().getParent();
+            if (!RecordReader.hasJournal(dir)) { readSnapshot(in, sink); return 0; }
+            // The app's saves after the first one only append to the journal, so the snapshot alone can be stale
+            Map<String, BeneficiaryRecord> bs = new LinkedHashMap<>();
+            Map<String, OpportunityRecord> os = new LinkedHashMap<>();
+            readSnapshot(in, new RecordReader.Sink() {
+                @Override public void beneficiaries(List<BeneficiaryRecord> batch) { for (BeneficiaryRecord b : batch) bs.put(b.id(), b); }
+                @Override public void opportunities(List<OpportunityRecord> batch) { for (OpportunityRecord o : batch) os.put(o.id(), o); }
+            });
+            int applied = RecordReader.replayJournal(dir, bs, os);
+            System.err.println(in.getName() + ": applied " + applied + " change journal records from " + ChangeJournal.FILE_NAME);
+            sink.beneficiaries(new ArrayList<>(bs.values()));
+            sink.opportunities(new ArrayList<>(os.values()));
+            return 0;
+        }
+        List<String> errors = new ArrayList<>();
+        long invalid = Importer.readRecords(in, sink, errors, Importer.Progress.NONE);
+        for (String e : errors) System.err.println(in.getName() + ": " + e);
+        return invalid;
+    }
+
+    private static void readSnapshot(File in, RecordReader.Sink sink) throws IOException {
+        if (in.getName().toLowerCase(Locale.ROOT).endsWith(".bin")) {
+            try (BinarySnapshot snap = BinarySnapshot.open(in.toPath())) {
+                List<BeneficiaryRecord> bs = new ArrayList<>(snap.beneficiaryCount());
+                for (int i = 0; i < snap.beneficiaryCount(); i++) bs.add(BeneficiaryRecord.of(snap.beneficiaryId(i), snap.beneficiaryName(i), snap.householdSize(i), snap.beneficiarySkills(i)));
+                sink.beneficiaries(bs);
+                List<OpportunityRecord> os = new ArrayList<>(snap.opportunityCount());
+                for (int i = 0; i < snap.opportunityCount(); i++) os.add(OpportunityRecord.of(snap.opportunityId(i), snap.opportunityTitle(i), snap.opportunitySkills(i), snap.payout(i), snap.capacity(i)));
+                sink.opportunities(os);
+            }
+            return;
+        }
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(new FileInputStream(in), StandardCharsets.UTF_8), 1 << 16)) {
+            RecordReader.read(r, 4096, sink);
+        }
+    }
+
+    /** Match chunk by chunk: chunk i + 1 is matched in parallel while chunk i is written. */
+    private static long match(List<BeneficiaryRecord> bs, List<OpportunityRecord> os, int min, int top, Output out) throws IOException {
+        List<SkillSet> required = new ArrayList<>(os.size());
+        for (OpportunityRecord o : os) required.add(o.requiredSkills());
+        SkillMatcher matcher = new SkillMatcher(required);
+        long total = 0;
+        CompletableFuture<int[][]> next = chunk(matcher, bs, 0, min, top);
+        for (int from = 0; from < bs.size(); from += CHUNK) {
+            int[][] rows = next.join();
+            if (from + CHUNK < bs.size()) next = chunk(matcher, bs, from + CHUNK, min, top);
+            for (int i = 0; i < rows.length; i++) {
+                BeneficiaryRecord b = bs.get(from + i);
+                int[] row = rows[i];
+                // Packed as opportunity position, overlap, opportunity position, overlap...
+                for (int r = 0; r < row.length; r += 2) out.write(b, os.get(row[r]), row[r + 1]);
+                total += row.length / 2;
+            }
+        }
+        out.finish();
+        return total;
+    }
+
+    private static CompletableFuture<int[][]> chunk(SkillMatcher matcher, List<BeneficiaryRecord> bs, int from, int min, int top) {
+        int to = Math.min(bs.size(), from + CHUNK);
+        return CompletableFuture.supplyAsync(() -> {
+            int[][] rows = new int[Math.max(0, to - from)][];
+            int parts = Math.max(1, Math.min(rows.length / 256, Runtime.getRuntime().availableProcessors() * 4));
+            IntStream.range(0, parts).parallel().forEach(p -> {
+                SkillMatcher.Scanner scanner = matcher.scanner();
+                for (int i = p * rows.length / parts; i < (p + 1) * rows.length / parts; i++) {
+                    int n = scanner.scan(bs.get(from + i).skills(), min, top);
+                    int[] row = new int[n * 2];
+                    for (int r = 0; r < n; r++) { row[2 * r] = scanner.opportunity(r); row[2 * r + 1] = scanner.overlap(r); }
+                    rows[i] = row;
+                }
+            });
+            return rows;
+        });
+    }
+
+    private interface Output {
+        void write(BeneficiaryRecord b, OpportunityRecord o, int overlap) throws IOException;
+        void finish() throws IOException;
+    }
+
+    private static final class Csv implements Output {
+        private final CsvWriter w;
+        Csv(Writer out) throws IOException {
+            out.write("beneficiaryId,beneficiaryName,opportunityId,opportunityTitle,overlap,payout" + System.lineSeparator());
+            w = new CsvWriter(out);
+        }
+        @Override public void write(BeneficiaryRecord b, OpportunityRecord o, int overlap) throws IOException {
+            w.field(b.id()).field(b.name()).field(o.id()).field(o.title()).field(overlap).field(o.payout()).endRow();
+        }
+        @Override public void finish() throws IOException { w.flush(); }
+    }
+
+    /** One JSON object per line. */
+    private static final class Ndjson implements Output {
+        private final Writer out;
+        private final JsonWriter json;
+        Ndjson(Writer out) { this.out = out; json = new JsonWriter(out); json.setLenient(true); }
+        @Override public void write(BeneficiaryRecord b, OpportunityRecord o, int overlap) throws IOException {
+            json.beginObject()
+                .name("beneficiaryId").value(b.id()).name("beneficiaryName").value(b.name())
+                .name("opportunityId").value(o.id()).name("opportunityTitle").value(o.title())
+                .name("overlap").value(overlap).name("payout").value(o.payout())
+                .endObject();
+            out.write('\n');
+        }
+        @Override public void finish() throws IOException { json.flush(); }
+    }
+}
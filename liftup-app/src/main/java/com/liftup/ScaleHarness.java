@@ -0,0 +1,256 @@
+package com.liftup;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+import com.liftup.services.AssignmentResult;
+import com.liftup.services.BatchMatchResult;
+import com.liftup.services.DataStore;
+import com.liftup.services.InsightsAggregator;
+import com.liftup.services.MatchingService;
+import com.liftup.util.Exporter;
+import com.liftup.util.SyntheticData;
+
+/**
+ * Headless scale run: no JavaFX stage is created. For each roster size a {@code data.json} is generated (or the one
+ * given with {@code --data} is copied in), then the app's load, match, assign, aggregate, save and export flow runs against a
+ * scratch {@link DataStore} directory. Every phase reports wall time, bytes allocated (all threads), allocation rate,
+ * peak heap and GC activity.
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=com.liftup.ScaleHarness -Dexec.args="--rows 10000,100000,1000000"
+ *
+ * --rows n,n,...      beneficiary counts (default 10000,100000,1000000)
+ * --opportunities f   opportunities per beneficiary (default 0.01)
+ * --data file         run on an existing data.json instead of generated rows (--rows is ignored)
+ * --format json|binary snapshot format for the save phase (default json)
+ * --seed n            generator seed (default 42)
+ * --dir path          scratch directory (default: a temp directory, deleted afterwards)
+ * --csv file          also write one CSV row per phase
+ * </pre>
+ * Give the JVM room for the largest size ({@code MAVEN_OPTS=-Xmx4g} with exec:java). Peak heap is the sum of the heap
+ * pools' peaks after a full collection at the start of each phase, so it is the live roster plus the phase's working
+ * set. Allocation is summed over live threads, which covers the common pool used by matching.
+ */
+public final class ScaleHarness {
+    private static final int TOP_K = 10;
+    private static final String HEADER = "rows,phase,wall_ms,alloc_mb,alloc_mb_s,peak_heap_mb,gc_count,gc_ms,gc_max_pause_ms,detail";
+
+    private final long seed;
+    private final double opportunityRatio;
+    private final DataStore.SnapshotFormat format;
+    private final PrintStream out;
+    private final Writer csv;
+    private final GcWatch gc = new GcWatch();
+
+    private ScaleHarness(long seed, double opportunityRatio, DataStore.SnapshotFormat format, PrintStream out, Writer csv) {
+        this.seed = seed; this.opportunityRatio = opportunityRatio; this.format = format; this.out = out; this.csv = csv;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Integer> sizes = List.of(10_000, 100_000, 1_000_000);
+        double ratio = 0.01; long seed = 42; File data = null, dir = null, csvFile = null;
+        DataStore.SnapshotFormat format = DataStore.SnapshotFormat.JSON;
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            if (i + 1 >= args.length) usage("missing value for " + a);
+            String v = args[++i];
+            switch (a) {
+                case "--rows" -> { List<Integer> s = new ArrayList<>(); for (String n : v.split(",")) s.add(Integer.parseInt(n.trim().replace("_", ""))); sizes = s; }
+                case "--opportunities" -> ratio = Double.parseDouble(v);
+                case "--data" -> data = new File(v);
+                case "--format" -> format = DataStore.SnapshotFormat.valueOf(v.toUpperCase(Locale.ROOT));
+                case "--seed" -> seed = Long.parseLong(v);
+                case "--dir" -> dir = new File(v);
+                case "--csv" -> csvFile = new File(v);
+                default -> usage("unknown option " + a);
+            }
+        }
+        if (data != null && !data.isFile()) usage("no such file: " + data);
+        Path work = dir != null ? Files.createDirectories(dir.toPath()) : Files.createTempDirectory("liftup-scale");
+        try (Writer csv = csvFile == null ? Writer.nullWriter() : new BufferedWriter(new OutputStreamWriter(new FileOutputStream(csvFile), StandardCharsets.UTF_8))) {
+            csv.write(HEADER + System.lineSeparator());
+            ScaleHarness h = new ScaleHarness(seed, ratio, format, System.out, csv);
+            h.out.printf("LiftUp scale run: max heap %d MB, %d CPUs, %s snapshots, work dir %s%n",
+                Runtime.getRuntime().maxMemory() >> 20, Runtime.getRuntime().availableProcessors(), format, work);
+            if (data != null) h.run(work.resolve("data"), data);
+            else for (int n : sizes) h.run(work.resolve("rows-" + n), n);
+        } finally {
+            if (dir == null) deleteTree(work);
+        }
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("usage: ScaleHarness [--rows n,n,...] [--opportunities ratio] [--data data.json] [--format json|binary] [--seed n] [--dir path] [--csv file]");
+        System.exit(2);
+    }
+
+    private void run(Path dir, int rows) throws Exception {
+        Files.createDirectories(dir);
+        int opportunities = Math.max(1, (int) Math.round(rows * opportunityRatio));
+        DataStore store = new DataStore("/com/liftup/views", "data/sample-data.json", dir.toFile());
+        try {
+            // The generated file is always JSON, like a data.json handed over from the field
+            phase(rows, "generate", () -> {
+                SyntheticData gen = new SyntheticData(seed);
+                store.commit(gen.beneficiaries(rows), gen.opportunities(opportunities));
+                return String.format("%d beneficiaries, %d opportunities, %.1f MB on disk", rows, opportunities, Files.size(dir.resolve("data.json")) / 1e6);
+            });
+            flow(rows, dir, store);
+        } finally {
+            store.close();
+        }
+    }
+
+    private void run(Path dir, File data) throws Exception {
+        Files.createDirectories(dir);
+        Files.copy(data.toPath(), dir.resolve("data.json"), StandardCopyOption.REPLACE_EXISTING);
+        DataStore store = new DataStore("/com/liftup/views", "data/sample-data.json", dir.toFile());
+        try { flow(-1, dir, store); } finally { store.close(); }
+    }
+
+    /**
+     * The app's own sequence: load the saved roster, match everyone, assign places (cold, then warm-started as after an
+     * edit), rebuild the dashboard, save, export CSV.
+     */
+    private void flow(int label, Path dir, DataStore store) throws Exception {
+        DataStore.Snapshot[] loaded = new DataStore.Snapshot[1];
+        phase(label, "load", () -> {
+            loaded[0] = store.load(false);
+            return loaded[0].beneficiaries.size() + " beneficiaries, " + loaded[0].opportunities.size() + " opportunities";
+        });
+        List<Beneficiary> bs = loaded[0].beneficiaries;
+        List<Opportunity> os = loaded[0].opportunities;
+        int rows = label < 0 ? bs.size() : label;
+
+        phase(rows, "match", () -> {
+            // matchAll builds its own postings; the skill index is only for one-beneficiary lookups
+            BatchMatchResult r = new MatchingService().matchAll(bs, os, 1, TOP_K);
+            return String.format("%d matches kept, %.0f M pairs/s", r.totalMatches(), r.pairsPerSecond() / 1e6);
+        });
+        AssignmentResult[] assigned = new AssignmentResult[1];
+        phase(rows, "assign", () -> {
+            assigned[0] = new MatchingService().assign(bs, os, 1, null);
+            return String.format("%d of %d placed, %d bids", assigned[0].assignedCount(), bs.size(), assigned[0].bids());
+        });
+        phase(rows, "reassign", () -> {
+            AssignmentResult r = new MatchingService().assign(bs, os, 1, assigned[0]);
+            return String.format("%d of %d placed, %d bids", r.assignedCount(), bs.size(), r.bids());
+        });
+        phase(rows, "aggregate", () -> {
+            InsightsAggregator insights = new InsightsAggregator();
+            insights.reset(bs, os);
+            return String.format("avg household %.2f, payouts %.2f, top skill %s", insights.averageHouseholdSize(), insights.totalPayout(),
+                insights.topSkills(1).isEmpty() ? "-" : insights.topSkills(1).get(0).getKey());
+        });
+        phase(rows, "save", () -> {
+            // A full snapshot write, as on the first save or a compaction
+            store.reset();
+            store.setSnapshotFormat(format);
+            store.commit(bs, os);
+            File f = dir.resolve(format == DataStore.SnapshotFormat.BINARY ? "data.bin" : "data.json").toFile();
+            return String.format("%s, %.1f MB", f.getName(), f.length() / 1e6);
+        });
+        phase(rows, "export", () -> {
+            long n;
+            File b = dir.resolve("beneficiaries.csv").toFile(), o = dir.resolve("opportunities.csv").toFile();
+            try (Writer w = new OutputStreamWriter(new FileOutputStream(b), StandardCharsets.UTF_8)) { n = Exporter.writeBeneficiaries(bs.iterator(), w, Exporter.Progress.NONE); }
+            try (Writer w = new OutputStreamWriter(new FileOutputStream(o), StandardCharsets.UTF_8)) { n += Exporter.writeOpportunities(os.iterator(), w, Exporter.Progress.NONE); }
+            return String.format("%d rows, %.1f MB", n, (b.length() + o.length()) / 1e6);
+        });
+    }
+
+    private interface Phase { String run() throws Exception; }
+
+    private void phase(int rows, String name, Phase body) throws Exception {
+        System.gc();
+        List<MemoryPoolMXBean> heap = heapPools();
+        heap.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long gcCount = gcCount(), gcTime = gcTime();
+        gc.resetMax();
+        long alloc = allocatedBytes(), start = System.nanoTime();
+
+        String detail = body.run();
+
+        long wall = System.nanoTime() - start;
+        long allocated = allocatedBytes() - alloc;
+        long peak = 0;
+        for (MemoryPoolMXBean p : heap) peak += p.getPeakUsage().getUsed();
+        double wallMs = wall / 1e6, allocMb = allocated / 1048576.0, rate = wall == 0 ? 0 : allocMb / (wall / 1e9);
+        long count = gcCount() - gcCount, time = gcTime() - gcTime, maxPause = gc.maxPauseMillis();
+        out.printf("%9s %-9s %9.0f ms %9.0f MB alloc %7.0f MB/s  peak heap %6d MB  GC %4d x %6d ms (max %4d ms)  %s%n",
+            rows < 0 ? "-" : rows, name, wallMs, allocMb, rate, peak >> 20, count, time, maxPause, detail);
+        csv.write(String.format(Locale.ROOT, "%d,%s,%.1f,%.1f,%.1f,%d,%d,%d,%d,\"%s\"%n",
+            rows, name, wallMs, allocMb, rate, peak >> 20, count, time, maxPause, detail.replace("\"", "\"\"")));
+        csv.flush();
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> out = new ArrayList<>();
+        for (MemoryPoolMXBean p : ManagementFactory.getMemoryPoolMXBeans()) if (p.getType() == MemoryType.HEAP && p.isValid()) out.add(p);
+        return out;
+    }
+
+    private static long gcCount() { long n = 0; for (GarbageCollectorMXBean b : ManagementFactory.getGarbageCollectorMXBeans()) n += Math.max(0, b.getCollectionCount()); return n; }
+    private static long gcTime() { long n = 0; for (GarbageCollectorMXBean b : ManagementFactory.getGarbageCollectorMXBeans()) n += Math.max(0, b.getCollectionTime()); return n; }
+
+    /** Bytes allocated so far by all live threads; -1 entries are threads that ended between the two calls. */
+    private static long allocatedBytes() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean t) || !t.isThreadAllocatedMemorySupported()) return 0;
+        long sum = 0;
+        for (long b : t.getThreadAllocatedBytes(t.getAllThreadIds())) if (b > 0) sum += b;
+        return sum;
+    }
+
+    /** Longest single collection since the last reset, from the collectors' notifications (delivered asynchronously). */
+    private static final class GcWatch {
+        private final AtomicLong max = new AtomicLong();
+
+        GcWatch() {
+            for (GarbageCollectorMXBean b : ManagementFactory.getGarbageCollectorMXBeans()) {
+                // Concurrent cycles run beside the application, so they are not pauses
+                if (!(b instanceof NotificationEmitter e) || b.getName().contains("Concurrent")) continue;
+                e.addNotificationListener((n, handback) -> {
+                    if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(n.getType())) return;
+                    GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) n.getUserData());
+                    if (info.getGcCause().equals("System.gc()")) return;
+                    max.accumulateAndGet(info.getGcInfo().getDuration(), Math::max);
+                }, null, null);
+            }
+        }
+
+        void resetMax() { max.set(0); }
+        long maxPauseMillis() { return max.get(); }
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        if (!Files.exists(root)) return;
+        try (Stream<Path> files = Files.walk(root)) { files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete()); }
+    }
+}
@@ -0,0 +1,61 @@
+package com.liftup.models;
+
+import java.util.List;
+
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+
+/**
+ * Editable beneficiary row. Values live in plain fields; a JavaFX property is only created the first time something
+ * binds to it (a visible table cell) and from then on holds the value. The skills CSV is joined once and cached
+ * until the skills change.
+ */
+public class Beneficiary {
+    private final String id;
+    private String name;
+    private int householdSize;
+    private SkillSet skills;
+    private String skillsCsv;
+    private int skillsVersion;
+    private StringProperty nameProperty, skillsCsvProperty;
+    private IntegerProperty householdSizeProperty, scoreProperty;
+
+    public Beneficiary(String id, String name, int householdSize, List<String> skills){ this(id, name, householdSize, SkillSet.of(skills)); }
+    public Beneficiary(String id, String name, int householdSize, SkillSet skills){ this.id = id; this.name = name; this.householdSize = householdSize; this.skills = skills; }
+    public Beneficiary(BeneficiaryRecord r){ this(r.id(), r.name(), r.householdSize(), r.skills()); }
+
+    public String getId(){ return id; }
+    public String getName(){ return nameProperty == null ? name : nameProperty.get(); }
+    public void setName(String name){ if(nameProperty == null) this.name = name; else nameProperty.set(name); }
+    public int getHouseholdSize(){ return householdSizeProperty == null ? householdSize : householdSizeProperty.get(); }
+    /** Also recomputes the score, which is derived from the household size. */
+    public void setHouseholdSize(int householdSize){
+        if(householdSizeProperty == null) this.householdSize = householdSize; else householdSizeProperty.set(householdSize);
+        if(scoreProperty != null) scoreProperty.set(BeneficiaryRecord.score(householdSize));
+    }
+    public int getScore(){ return scoreProperty == null ? BeneficiaryRecord.score(getHouseholdSize()) : scoreProperty.get(); }
+
+    public StringProperty nameProperty(){ if(nameProperty == null) nameProperty = new SimpleStringProperty(this, "name", name); return nameProperty; }
+    public IntegerProperty householdSizeProperty(){ if(householdSizeProperty == null) householdSizeProperty = new SimpleIntegerProperty(this, "householdSize", householdSize); return householdSizeProperty; }
+    public IntegerProperty scoreProperty(){ if(scoreProperty == null) scoreProperty = new SimpleIntegerProperty(this, "score", BeneficiaryRecord.score(getHouseholdSize())); return scoreProperty; }
+
+    /** Read-only String view of the skills; use {@link #setSkills} to change them. */
+    public List<String> getSkills(){ return skills.names(); }
+    public SkillSet getSkillSet(){ return skills; }
+    public void setSkills(List<String> skills){ setSkillSet(SkillSet.of(skills)); }
+    public void setSkillSet(SkillSet skills){
+        this.skills = skills; skillsCsv = null; skillsVersion++;
+        if(skillsCsvProperty != null) skillsCsvProperty.set(getSkillsCsv());
+    }
+    /** Bumped on every {@link #setSkillSet}, so caches can tell whether the skills they saw are still current. */
+    public int getSkillsVersion(){ return skillsVersion; }
+    public String getSkillsCsv(){ if(skillsCsv == null) skillsCsv = skills.join(", "); return skillsCsv; }
+    /** Cached; updated by {@link #setSkills}. */
+    public StringProperty skillsCsvProperty(){ if(skillsCsvProperty == null) skillsCsvProperty = new SimpleStringProperty(this, "skillsCsv", getSkillsCsv()); return skillsCsvProperty; }
+
+    public BeneficiaryRecord toRecord(){ return new BeneficiaryRecord(id, getName(), getHouseholdSize(), skills); }
+
+    @Override public String toString(){ return getName() + " (" + (id.length() > 6 ? id.substring(0,6) : id) + ")"; }
+}
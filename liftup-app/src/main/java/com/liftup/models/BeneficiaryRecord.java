@@ -0,0 +1,12 @@
+package com.liftup.models;
+
+import java.util.List;
+
+/** Toolkit-free, immutable beneficiary data; {@link Beneficiary} is the editable UI row built around it. */
+public record BeneficiaryRecord(String id, String name, int householdSize, SkillSet skills) {
+    public static BeneficiaryRecord of(String id, String name, int householdSize, List<String> skills){ return new BeneficiaryRecord(id, name, householdSize, SkillSet.of(skills)); }
+    public int score(){ return score(householdSize); }
+
+    /** Priority score out of 100 for a household size; shared with the views that sort saved rows by it. */
+    public static int score(int householdSize){ return Math.min(100, 10 + householdSize * 10); }
+}
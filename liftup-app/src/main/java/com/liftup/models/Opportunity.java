@@ -0,0 +1,45 @@
+package com.liftup.models;
+
+import javafx.beans.property.*;
+import java.util.*;
+
+/** Editable opportunity row; properties are created on first use and the skills CSV is cached, as in {@link Beneficiary}. */
+public class Opportunity {
+    private final String id;
+    private String title;
+    private SkillSet requiredSkills;
+    private double payout;
+    private int capacity = 1;
+    private String requiredSkillsCsv;
+    private StringProperty titleProperty, requiredSkillsCsvProperty;
+    private DoubleProperty payoutProperty;
+    private IntegerProperty capacityProperty;
+
+    public Opportunity(String id, String title, List<String> requiredSkills, double payout){ this(id, title, SkillSet.of(requiredSkills), payout); }
+    public Opportunity(String id, String title, SkillSet requiredSkills, double payout){ this.id = id; this.title = title; this.requiredSkills = requiredSkills; this.payout = payout; }
+    public Opportunity(String id, String title, SkillSet requiredSkills, double payout, int capacity){ this(id, title, requiredSkills, payout); this.capacity = Math.max(1, capacity); }
+    public Opportunity(OpportunityRecord r){ this(r.id(), r.title(), r.requiredSkills(), r.payout(), r.capacity()); }
+    public String getId(){ return id; }
+    public String getTitle(){ return titleProperty == null ? title : titleProperty.get(); }
+    public void setTitle(String title){ if(titleProperty == null) this.title = title; else titleProperty.set(title); }
+    public double getPayout(){ return payoutProperty == null ? payout : payoutProperty.get(); }
+    public void setPayout(double payout){ if(payoutProperty == null) this.payout = payout; else payoutProperty.set(payout); }
+    /** Places available: how many beneficiaries the assignment engine may give this opportunity. Never below 1. */
+    public int getCapacity(){ return capacityProperty == null ? capacity : capacityProperty.get(); }
+    public void setCapacity(int capacity){ if(capacityProperty == null) this.capacity = Math.max(1, capacity); else capacityProperty.set(Math.max(1, capacity)); }
+    public IntegerProperty capacityProperty(){ if(capacityProperty == null) capacityProperty = new SimpleIntegerProperty(this, "capacity", capacity); return capacityProperty; }
+    public StringProperty titleProperty(){ if(titleProperty == null) titleProperty = new SimpleStringProperty(this, "title", title); return titleProperty; }
+    public DoubleProperty payoutProperty(){ if(payoutProperty == null) payoutProperty = new SimpleDoubleProperty(this, "payout", payout); return payoutProperty; }
+    /** Read-only String view of the required skills; use {@link #setRequiredSkills} to change them. */
+    public List<String> getRequiredSkills(){ return requiredSkills.names(); }
+    public SkillSet getRequiredSkillSet(){ return requiredSkills; }
+    public void setRequiredSkills(List<String> skills){ setRequiredSkillSet(SkillSet.of(skills)); }
+    public void setRequiredSkillSet(SkillSet skills){
+        this.requiredSkills = skills; requiredSkillsCsv = null;
+        if(requiredSkillsCsvProperty != null) requiredSkillsCsvProperty.set(getRequiredSkillsCsv());
+    }
+    public String getRequiredSkillsCsv(){ if(requiredSkillsCsv == null) requiredSkillsCsv = requiredSkills.join(", "); return requiredSkillsCsv; }
+    /** Cached; updated by {@link #setRequiredSkills}. */
+    public StringProperty requiredSkillsCsvProperty(){ if(requiredSkillsCsvProperty == null) requiredSkillsCsvProperty = new SimpleStringProperty(this, "requiredSkillsCsv", getRequiredSkillsCsv()); return requiredSkillsCsvProperty; }
+    public OpportunityRecord toRecord(){ return new OpportunityRecord(id, getTitle(), requiredSkills, getPayout(), getCapacity()); }
+}
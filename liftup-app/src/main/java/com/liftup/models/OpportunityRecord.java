@@ -0,0 +1,20 @@
+package com.liftup.models;
+
+import java.util.List;
+
+/**
+ * Toolkit-free, immutable opportunity data; {@link Opportunity} is the editable UI row built around it.
+ * {@code capacity} is the number of people the opportunity can take (at least 1; older data without it means 1).
+ */
+public record OpportunityRecord(String id, String title, SkillSet requiredSkills, double payout, int capacity) {
+    /** Largest payout accepted from forms and imports (MYR); sums of many such payouts still fit in a long of sen. */
+    public static final double MAX_PAYOUT = 1_000_000_000;
+
+    /** Positive, finite and at most {@link #MAX_PAYOUT}. */
+    public static boolean isValidPayout(double payout){ return payout > 0 && payout <= MAX_PAYOUT; }
+
+    public OpportunityRecord { capacity = Math.max(1, capacity); }
+    public OpportunityRecord(String id, String title, SkillSet requiredSkills, double payout){ this(id, title, requiredSkills, payout, 1); }
+    public static OpportunityRecord of(String id, String title, List<String> requiredSkills, double payout){ return of(id, title, requiredSkills, payout, 1); }
+    public static OpportunityRecord of(String id, String title, List<String> requiredSkills, double payout, int capacity){ return new OpportunityRecord(id, title, SkillSet.of(requiredSkills), payout, capacity); }
+}
@@ -0,0 +1,57 @@
+package com.liftup.models;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide dictionary that canonicalizes each skill once (trimmed, lower-cased) and hands out dense int IDs.
+ * "Sewing" and " sewing" share one ID. The first spelling seen becomes the dictionary's name for the skill, used where
+ * skills are reported across records; each {@link SkillSet} keeps its own record's spelling for display and export.
+ * Lookups are lock-free; interning a new skill takes a short lock.
+ */
+public final class SkillDictionary {
+    private static final SkillDictionary GLOBAL = new SkillDictionary();
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[64];
+    private volatile int size;
+
+    public static SkillDictionary global(){ return GLOBAL; }
+
+    /** Canonical key for a raw skill: trimmed and lower-cased; blank input yields "". */
+    public static String canonical(String raw){ return raw == null ? "" : raw.trim().toLowerCase(Locale.ROOT); }
+
+    /** ID for a skill, assigning the next free one if it is new; -1 for blank input. */
+    public int intern(String raw){
+        String key = canonical(raw);
+        if(key.isEmpty()) return -1;
+        Integer id = ids.get(key);
+        return id != null ? id : internSlow(key, raw.trim());
+    }
+
+    private synchronized int internSlow(String key, String display){
+        Integer id = ids.get(key);
+        if(id != null) return id;
+        int next = size;
+        String[] n = names;
+        if(next == n.length) n = Arrays.copyOf(n, next * 2);
+        n[next] = display;
+        names = n;
+        size = next + 1;
+        ids.put(key, next);
+        return next;
+    }
+
+    /** ID for a skill that has already been interned, or -1. */
+    public int lookup(String raw){ Integer id = ids.get(canonical(raw)); return id == null ? -1 : id; }
+
+    public String name(int id){
+        if(id < 0 || id >= size) throw new IndexOutOfBoundsException("skill id " + id);
+        return names[id];
+    }
+
+    /** Number of distinct skills interned so far; IDs are {@code 0..size()-1}. */
+    public int size(){ return size; }
+}
@@ -0,0 +1,104 @@
+package com.liftup.models;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable set of skill IDs from the {@link SkillDictionary}.
+ * Keeps the IDs in entry order for display and a sorted copy so overlap is a linear merge instead of String compares.
+ * Where a record spells a skill differently from the dictionary's name for it ("Data Entry" vs "data entry") the
+ * record's own spelling is kept for display and export; matching only ever looks at the IDs.
+ */
+public final class SkillSet {
+    public static final SkillSet EMPTY = new SkillSet(new int[0], new int[0], null);
+
+    private final int[] ids;
+    private final int[] sorted;
+    // Own spelling per display position, null where it matches the dictionary name; the array is null if none differ
+    private final String[] spelled;
+
+    private SkillSet(int[] ids, int[] sorted, String[] spelled){ this.ids = ids; this.sorted = sorted; this.spelled = spelled; }
+
+    /** Intern each skill in the global dictionary; blanks and repeats (case-insensitive, first spelling kept) are dropped. */
+    public static SkillSet of(List<String> skills){
+        if(skills == null || skills.isEmpty()) return EMPTY;
+        SkillDictionary dict = SkillDictionary.global();
+        int[] buf = new int[skills.size()];
+        String[] spelled = null;
+        int n = 0;
+        for(String s: skills){
+            int id = dict.intern(s);
+            if(id < 0) continue;
+            String own = s.trim();
+            if(!own.equals(dict.name(id))){ if(spelled == null) spelled = new String[buf.length]; spelled[n] = own; }
+            buf[n++] = id;
+        }
+        return build(Arrays.copyOf(buf, n), spelled);
+    }
+
+    /** Build from raw IDs in display order; repeats are dropped. The array is not retained. */
+    public static SkillSet ofIds(int[] raw){ return build(raw.clone(), null); }
+
+    /** {@code raw} may be retained; {@code spelled} is null or lines up with it. */
+    private static SkillSet build(int[] raw, String[] spelled){
+        if(raw.length == 0) return EMPTY;
+        int[] sorted = raw.clone();
+        Arrays.sort(sorted);
+        int n = 0;
+        for(int i = 0; i < sorted.length; i++) if(i == 0 || sorted[i] != sorted[i - 1]) sorted[n++] = sorted[i];
+        if(n == raw.length){
+            boolean inOrder = true;
+            for(int i = 0; i < n && inOrder; i++) inOrder = raw[i] == sorted[i];
+            return new SkillSet(inOrder ? sorted : raw, sorted, spelled == null ? null : Arrays.copyOf(spelled, n));
+        }
+        sorted = Arrays.copyOf(sorted, n);
+        int[] ids = new int[n];
+        String[] own = spelled == null ? null : new String[n];
+        int m = 0;
+        for(int i = 0; i < raw.length; i++){
+            int id = raw[i];
+            boolean seen = false;
+            for(int j = 0; j < m && !seen; j++) seen = ids[j] == id;
+            if(!seen){ if(own != null) own[m] = spelled[i]; ids[m++] = id; }
+        }
+        return new SkillSet(ids, sorted, own);
+    }
+
+    public int size(){ return ids.length; }
+    public boolean isEmpty(){ return ids.length == 0; }
+    /** ID at a display position. */
+    public int id(int i){ return ids[i]; }
+    /** ID at a position in ascending ID order. */
+    public int sortedId(int i){ return sorted[i]; }
+    public boolean contains(int id){ return Arrays.binarySearch(sorted, id) >= 0; }
+
+    /** Number of skills shared with another set (merge of the two sorted arrays). */
+    public int overlap(SkillSet other){
+        int[] a = sorted, b = other.sorted;
+        int i = 0, j = 0, c = 0;
+        while(i < a.length && j < b.length){
+            int x = a[i], y = b[j];
+            if(x == y){ c++; i++; j++; }
+            else if(x < y) i++;
+            else j++;
+        }
+        return c;
+    }
+
+    /** Read-only String view for tables and CSV export. */
+    public List<String> names(){
+        SkillDictionary dict = SkillDictionary.global();
+        return new AbstractList<>(){
+            @Override public String get(int i){ return spelled != null && spelled[i] != null ? spelled[i] : dict.name(ids[i]); }
+            @Override public int size(){ return ids.length; }
+        };
+    }
+
+    public String join(String sep){ return String.join(sep, names()); }
+
+    /** Same skills by ID; spelling is not compared. */
+    @Override public boolean equals(Object o){ return o instanceof SkillSet s && Arrays.equals(sorted, s.sorted); }
+    @Override public int hashCode(){ return Arrays.hashCode(sorted); }
+    @Override public String toString(){ return join(", "); }
+}
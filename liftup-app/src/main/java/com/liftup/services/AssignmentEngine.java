@@ -0,0 +1,305 @@
+package com.liftup.services;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.liftup.models.SkillSet;
+
+/**
+ * Capacity-constrained one-to-one assignment: each beneficiary gets at most one opportunity and each opportunity at
+ * most {@code capacity} beneficiaries, maximising the total benefit (see {@link #benefit}). Toolkit-free; works on
+ * list positions.
+ * <p>
+ * The graph is sparse: a beneficiary only bids for its best {@code choices} opportunities sharing at least
+ * {@code minOverlap} skills, found through a {@link SkillMatcher}. Places are allocated by an auction with epsilon
+ * scaling (every place of an opportunity is priced on its own, the cheapest one is bid for), which ends within one
+ * benefit unit per assigned beneficiary of the best allocation over that graph. Nothing is ever dense: memory is
+ * linear in beneficiaries x {@code choices} plus the total capacity.
+ * <p>
+ * A warm start takes the previous opportunity prices and keeps previous assignments that are still nearly best, then
+ * runs only the final auction round, so re-settling after an edit costs little more than building the graph.
+ */
+public final class AssignmentEngine {
+    public static final int DEFAULT_CHOICES = 32;
+
+    private static final int SCALING = 4;
+
+    /** Previous prices (per opportunity position) and choices (per beneficiary position, -1 for none). */
+    public record WarmStart(long[] prices, int[] choices) {}
+
+    /** Opportunity position per beneficiary (-1 for none), final prices, and run statistics. */
+    public record Solution(int[] choices, long[] prices, long totalBenefit, int assigned, int edges, long bids, int rounds) {}
+
+    private final int minOverlap, choices;
+
+    public AssignmentEngine(int minOverlap, int choices) {
+        if (choices < 1) throw new IllegalArgumentException("choices must be at least 1");
+        this.minOverlap = Math.max(1, minOverlap);
+        this.choices = choices;
+    }
+
+    /**
+     * Priority score (10..100) times the percentage of the opportunity's required skills covered, so higher-priority
+     * households win contested places and a close fit beats a partial one.
+     */
+    public static int benefit(int score, int overlap, int required) { return score * (overlap * 100 / Math.max(1, required)); }
+
+    public Solution assign(List<SkillSet> beneficiarySkills, int[] scores, List<SkillSet> opportunitySkills, int[] capacities, WarmStart warm) {
+        int nb = beneficiarySkills.size(), no = opportunitySkills.size();
+        if (scores.length != nb || capacities.length != no) throw new IllegalArgumentException("scores and capacities must match the lists");
+        Graph g = graph(beneficiarySkills, scores, opportunitySkills);
+        return new Auction(g, capacities).run(warm);
+    }
+
+    // --- Sparse bipartite graph ---
+
+    /** Compressed rows: beneficiary b's edges are {@code [start[b], start[b + 1])}. */
+    private record Graph(int[] start, int[] opportunity, int[] benefit) {
+        int beneficiaries() { return start.length - 1; }
+    }
+
+    private Graph graph(List<SkillSet> bs, int[] scores, List<SkillSet> os) {
+        SkillMatcher matcher = new SkillMatcher(os);
+        int[] required = new int[os.size()];
+        for (int o = 0; o < required.length; o++) required[o] = os.get(o).size();
+        int n = bs.size();
+        int[][] rows = new int[n][];
+        int parts = Math.max(1, Math.min(n / 256, Runtime.getRuntime().availableProcessors() * 4));
+        IntStream.range(0, parts).parallel().forEach(p -> {
+            SkillMatcher.Scanner scanner = matcher.scanner();
+            Selector top = new Selector(choices);
+            for (int b = p * n / parts; b < (p + 1) * n / parts; b++) {
+                int found = scanner.collect(bs.get(b), minOverlap);
+                top.clear();
+                for (int r = 0; r < found; r++) {
+                    int o = scanner.opportunity(r);
+                    top.offer(o, benefit(scores[b], scanner.overlap(r), required[o]));
+                }
+                rows[b] = top.packed();
+            }
+        });
+        int[] start = new int[n + 1];
+        for (int b = 0; b < n; b++) start[b + 1] = start[b] + rows[b].length / 2;
+        int[] opportunity = new int[start[n]], benefit = new int[start[n]];
+        for (int b = 0; b < n; b++) {
+            int[] row = rows[b];
+            for (int e = 0; e < row.length / 2; e++) { opportunity[start[b] + e] = row[2 * e]; benefit[start[b] + e] = row[2 * e + 1]; }
+        }
+        return new Graph(start, opportunity, benefit);
+    }
+
+    /** Keeps the {@code k} highest-benefit edges of one beneficiary in a min-heap; ties keep the earlier position. */
+    private static final class Selector {
+        private final int k;
+        private final int[] opp, ben;
+        private int size;
+
+        Selector(int k) { this.k = k; opp = new int[k]; ben = new int[k]; }
+
+        void clear() { size = 0; }
+
+        void offer(int o, int b) {
+            if (size < k) { opp[size] = o; ben[size] = b; up(size++); }
+            else if (worse(ben[0], opp[0], b, o)) { opp[0] = o; ben[0] = b; down(); }
+        }
+
+        /** Opportunity, benefit pairs; the auction does not care about their order. */
+        int[] packed() {
+            int[] out = new int[size * 2];
+            for (int i = 0; i < size; i++) { out[2 * i] = opp[i]; out[2 * i + 1] = ben[i]; }
+            return out;
+        }
+
+        private static boolean worse(int benA, int oppA, int benB, int oppB) { return benA != benB ? benA < benB : oppA > oppB; }
+
+        private void up(int i) {
+            while (i > 0) {
+                int p = (i - 1) >>> 1;
+                if (!worse(ben[i], opp[i], ben[p], opp[p])) break;
+                swap(i, p); i = p;
+            }
+        }
+
+        private void down() {
+            int i = 0;
+            while (true) {
+                int l = 2 * i + 1, r = l + 1, w = i;
+                if (l < size && worse(ben[l], opp[l], ben[w], opp[w])) w = l;
+                if (r < size && worse(ben[r], opp[r], ben[w], opp[w])) w = r;
+                if (w == i) return;
+                swap(i, w); i = w;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int x = opp[a]; opp[a] = opp[b]; opp[b] = x;
+            x = ben[a]; ben[a] = ben[b]; ben[b] = x;
+        }
+    }
+
+    // --- Auction ---
+
+    /**
+     * Forward auction over places with epsilon scaling, each round followed by a reverse pass. Opportunity {@code o}
+     * owns places {@code [first[o], first[o + 1])}; {@code price[o]} is its cheapest place and {@code next[o]} the
+     * second cheapest (unbounded with one place). Carried-over prices leave some places empty at prices nobody will pay
+     * any more; in the reverse pass each such place bids for its best beneficiary, or drops to zero if nobody gains
+     * from it. Every empty place ends at price zero, which is what bounds the result to within one unit per
+     * beneficiary of optimal.
+     */
+    private static final class Auction {
+        private final Graph g;
+        private final int[] first, cheapest, holder, choice, placeOf, gain, queue;
+        private final long[] placePrice, price, next;
+        // Reverse adjacency: opportunity o's beneficiaries and benefits are [rStart[o], rStart[o + 1])
+        private final int[] rStart, rBeneficiary, rBenefit;
+        private int head, tail;
+        private long bids;
+
+        Auction(Graph g, int[] capacities) {
+            this.g = g;
+            int no = capacities.length, nb = g.beneficiaries();
+            first = new int[no + 1];
+            for (int o = 0; o < no; o++) first[o + 1] = first[o] + Math.max(1, capacities[o]);
+            placePrice = new long[first[no]];
+            holder = new int[first[no]];
+            price = new long[no]; next = new long[no]; cheapest = new int[no];
+            choice = new int[nb]; placeOf = new int[nb]; gain = new int[nb];
+            queue = new int[Math.max(nb, first[no]) + 1];
+            rStart = new int[no + 1];
+            for (int o : g.opportunity()) rStart[o + 1]++;
+            for (int o = 0; o < no; o++) rStart[o + 1] += rStart[o];
+            rBeneficiary = new int[g.opportunity().length]; rBenefit = new int[g.opportunity().length];
+            int[] fill = Arrays.copyOf(rStart, no);
+            for (int b = 0; b < nb; b++) {
+                for (int e = g.start()[b]; e < g.start()[b + 1]; e++) {
+                    int at = fill[g.opportunity()[e]]++;
+                    rBeneficiary[at] = b; rBenefit[at] = g.benefit()[e];
+                }
+            }
+        }
+
+        Solution run(WarmStart warm) {
+            int nb = g.beneficiaries(), rounds = 0;
+            boolean warmed = warm != null && warm.prices().length == price.length && warm.choices().length == nb;
+            if (warmed) for (int o = 0; o < price.length; o++) Arrays.fill(placePrice, first[o], first[o + 1], Math.max(0, warm.prices()[o]));
+            int maxBenefit = 0;
+            for (int b : g.benefit()) maxBenefit = Math.max(maxBenefit, b);
+            long eps = warmed ? 1 : Math.max(1, maxBenefit / SCALING);
+            while (true) {
+                rounds++;
+                Arrays.fill(holder, -1);
+                Arrays.fill(choice, -1);
+                Arrays.fill(placeOf, -1);
+                for (int o = 0; o < price.length; o++) reprice(o);
+                head = tail = 0;
+                if (warmed && rounds == 1) seed(warm.choices(), eps);
+                for (int b = 0; b < nb; b++) if (choice[b] < 0 && g.start()[b + 1] > g.start()[b]) push(b);
+                while (head != tail) bid(pop(), eps);
+                // Reverse pass at the same precision, so stale prices come down coarse to fine as well
+                for (int p = 0; p < holder.length; p++) if (holder[p] < 0 && placePrice[p] > 0) push(p);
+                while (head != tail) reverseBid(pop(), eps);
+                if (eps == 1) break;
+                eps = Math.max(1, eps / SCALING);
+            }
+            long total = 0; int assigned = 0;
+            for (int b = 0; b < nb; b++) if (choice[b] >= 0) { total += gain[b]; assigned++; }
+            return new Solution(choice.clone(), price.clone(), total, assigned, g.opportunity().length, bids, rounds);
+        }
+
+        /** Keep previous choices that are still an edge and within {@code eps} of the best net value at warm prices. */
+        private void seed(int[] previous, long eps) {
+            for (int b = 0; b < previous.length; b++) {
+                int o = previous[b];
+                if (o < 0 || o >= price.length) continue;
+                int place = freePlace(o);
+                if (place < 0) continue;
+                long best = 0, mine = Long.MIN_VALUE; int benefit = 0;
+                for (int e = g.start()[b]; e < g.start()[b + 1]; e++) {
+                    long net = g.benefit()[e] - price[g.opportunity()[e]];
+                    best = Math.max(best, net);
+                    if (g.opportunity()[e] == o) { mine = net; benefit = g.benefit()[e]; }
+                }
+                if (mine == Long.MIN_VALUE || mine < best - eps) continue;
+                take(b, o, place, benefit);
+                reprice(o);
+            }
+        }
+
+        private int freePlace(int o) {
+            int at = -1;
+            for (int s = first[o]; s < first[o + 1]; s++) if (holder[s] < 0 && (at < 0 || placePrice[s] < placePrice[at])) at = s;
+            return at;
+        }
+
+        private void bid(int b, long eps) {
+            int best = -1, bestEdge = -1;
+            long w1 = Long.MIN_VALUE, w2 = 0; // w2 starts at the value of staying unassigned
+            for (int e = g.start()[b]; e < g.start()[b + 1]; e++) {
+                int o = g.opportunity()[e];
+                long net = g.benefit()[e] - price[o];
+                if (net > w1) { if (best >= 0) w2 = Math.max(w2, w1); w1 = net; best = o; bestEdge = e; }
+                else w2 = Math.max(w2, net);
+            }
+            if (best < 0 || w1 <= 0) return; // better off unassigned
+            // The second cheapest place of the same opportunity competes too
+            if (next[best] != Long.MAX_VALUE) w2 = Math.max(w2, g.benefit()[bestEdge] - next[best]);
+            bids++;
+            int place = cheapest[best], out = holder[place];
+            placePrice[place] = price[best] + (w1 - w2) + eps;
+            if (out >= 0) { choice[out] = -1; placeOf[out] = -1; push(out); }
+            take(b, best, place, g.benefit()[bestEdge]);
+            reprice(best);
+        }
+
+        /**
+         * An empty place with a positive price offers itself to the beneficiary who gains most from it, at a price
+         * that keeps the runner-up within {@code eps}; a beneficiary moving away leaves its old place to bid in turn.
+         */
+        private void reverseBid(int place, long eps) {
+            if (holder[place] >= 0 || placePrice[place] <= 0) return;
+            int o = opportunityOf(place), best = -1, bestBenefit = 0;
+            long v1 = Long.MIN_VALUE, v2 = Long.MIN_VALUE;
+            for (int r = rStart[o]; r < rStart[o + 1]; r++) {
+                int b = rBeneficiary[r];
+                long v = rBenefit[r] - profit(b);
+                if (v > v1) { v2 = v1; v1 = v; best = b; bestBenefit = rBenefit[r]; }
+                else if (v > v2) v2 = v;
+            }
+            bids++;
+            if (best < 0 || v1 <= 0) { placePrice[place] = 0; reprice(o); return; }
+            placePrice[place] = v2 == Long.MIN_VALUE ? 0 : Math.max(0, v2 - eps);
+            int old = placeOf[best];
+            if (old >= 0) {
+                holder[old] = -1;
+                reprice(choice[best]);
+                if (placePrice[old] > 0) push(old);
+            }
+            take(best, o, place, bestBenefit);
+            reprice(o);
+        }
+
+        private void take(int b, int o, int place, int benefit) { holder[place] = b; choice[b] = o; placeOf[b] = place; gain[b] = benefit; }
+
+        private long profit(int b) { return placeOf[b] < 0 ? 0 : gain[b] - placePrice[placeOf[b]]; }
+
+        /** {@code first} is strictly increasing since every opportunity has at least one place. */
+        private int opportunityOf(int place) {
+            int i = Arrays.binarySearch(first, place);
+            return i >= 0 ? i : -i - 2;
+        }
+
+        private void reprice(int o) {
+            long p1 = Long.MAX_VALUE, p2 = Long.MAX_VALUE; int at = first[o];
+            for (int s = first[o]; s < first[o + 1]; s++) {
+                long p = placePrice[s];
+                if (p < p1) { p2 = p1; p1 = p; at = s; } else if (p < p2) p2 = p;
+            }
+            price[o] = p1; next[o] = p2; cheapest[o] = at;
+        }
+
+        private void push(int x) { queue[tail] = x; tail = tail + 1 == queue.length ? 0 : tail + 1; }
+        private int pop() { int x = queue[head]; head = head + 1 == queue.length ? 0 : head + 1; return x; }
+    }
+}
@@ -0,0 +1,66 @@
+package com.liftup.services;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+
+/**
+ * One opportunity per beneficiary (or none) from {@link MatchingService#assign}, over the snapshots it ran on.
+ * Also the warm start for the next run: prices and choices are carried over by ID, so edits in between are fine.
+ */
+public class AssignmentResult {
+    private final List<Beneficiary> beneficiaries;
+    private final List<Opportunity> opportunities;
+    private final AssignmentEngine.Solution solution;
+    private final boolean warmStarted;
+    private final long elapsedNanos;
+
+    AssignmentResult(List<Beneficiary> beneficiaries, List<Opportunity> opportunities, AssignmentEngine.Solution solution, boolean warmStarted, long elapsedNanos) {
+        this.beneficiaries = beneficiaries; this.opportunities = opportunities; this.solution = solution;
+        this.warmStarted = warmStarted; this.elapsedNanos = elapsedNanos;
+    }
+
+    public int beneficiaryCount() { return beneficiaries.size(); }
+    public Beneficiary beneficiary(int row) { return beneficiaries.get(row); }
+    /** The opportunity assigned to a row, or null. */
+    public Opportunity opportunity(int row) { int o = solution.choices()[row]; return o < 0 ? null : opportunities.get(o); }
+
+    public int assignedCount() { return solution.assigned(); }
+    public long placesTotal() { long t = 0; for (Opportunity o : opportunities) t += o.getCapacity(); return t; }
+    public long totalBenefit() { return solution.totalBenefit(); }
+    public long bids() { return solution.bids(); }
+    public boolean warmStarted() { return warmStarted; }
+    public long elapsedNanos() { return elapsedNanos; }
+
+    /** Previous prices and choices lined up with new lists; IDs that no longer exist are dropped. */
+    AssignmentEngine.WarmStart warmStart(List<Beneficiary> bs, List<Opportunity> os) {
+        Map<String, Integer> oldOpportunity = new HashMap<>(opportunities.size() * 2);
+        for (int o = 0; o < opportunities.size(); o++) oldOpportunity.put(opportunities.get(o).getId(), o);
+        Map<String, Integer> newOpportunity = new HashMap<>(os.size() * 2);
+        long[] prices = new long[os.size()];
+        for (int o = 0; o < os.size(); o++) {
+            newOpportunity.put(os.get(o).getId(), o);
+            Integer old = oldOpportunity.get(os.get(o).getId());
+            if (old != null) prices[o] = solution.prices()[old];
+        }
+        Map<String, Integer> oldRow = new HashMap<>(beneficiaries.size() * 2);
+        for (int b = 0; b < beneficiaries.size(); b++) oldRow.put(beneficiaries.get(b).getId(), b);
+        int[] choices = new int[bs.size()];
+        for (int b = 0; b < bs.size(); b++) {
+            Integer row = oldRow.get(bs.get(b).getId());
+            Opportunity was = row == null ? null : opportunity(row);
+            Integer now = was == null ? null : newOpportunity.get(was.getId());
+            choices[b] = now == null ? -1 : now;
+        }
+        return new AssignmentEngine.WarmStart(prices, choices);
+    }
+
+    @Override public String toString() {
+        return String.format("%,d of %,d beneficiaries placed in %,d places across %,d opportunities (total benefit %,d) in %.1f ms%s",
+            assignedCount(), beneficiaryCount(), placesTotal(), opportunities.size(), totalBenefit(), elapsedNanos / 1e6,
+            warmStarted ? ", warm-started" : "");
+    }
+}
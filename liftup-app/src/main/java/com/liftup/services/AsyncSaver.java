@@ -0,0 +1,54 @@
+package com.liftup.services;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs saves on one background thread and coalesces bursts: requests that arrive while a save is
+ * already queued replace its job instead of queueing another write, so hammering Ctrl+S costs one write.
+ * Jobs should capture immutable data; the latest job wins.
+ */
+public class AsyncSaver {
+
+    /** Called on the saver thread; UI callers hop back to the FX thread themselves. */
+    public interface Listener {
+        void saving();
+        void saved(int records, long elapsedNanos);
+        void failed(Exception e);
+    }
+
+    private final ExecutorService exec = Executors.newSingleThreadExecutor(r -> { Thread t = new Thread(r, "liftup-saver"); t.setDaemon(true); return t; });
+    private final AtomicBoolean queued = new AtomicBoolean();
+    private final Listener listener;
+    private volatile Callable<Integer> latest;
+
+    public AsyncSaver(Listener listener) { this.listener = listener; }
+
+    public void request(Callable<Integer> job) {
+        latest = job;
+        if (queued.compareAndSet(false, true)) exec.execute(this::drain);
+    }
+
+    private void drain() {
+        queued.set(false);
+        Callable<Integer> job = latest;
+        if (job == null) return;
+        listener.saving();
+        long start = System.nanoTime();
+        try {
+            int n = job.call();
+            listener.saved(n, System.nanoTime() - start);
+        } catch (Exception e) {
+            listener.failed(e);
+        }
+    }
+
+    /** Let a queued or running save finish, waiting at most {@code timeoutMillis}. */
+    public void shutdown(long timeoutMillis) {
+        exec.shutdown();
+        try { exec.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
+}
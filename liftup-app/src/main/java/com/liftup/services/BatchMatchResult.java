@@ -0,0 +1,51 @@
+package com.liftup.services;
+
+import java.util.List;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+
+/**
+ * Compact beneficiary x opportunity match table produced by {@link MatchingService#matchAll}.
+ * Row {@code b} holds up to {@code k} opportunity positions in fixed-stride arrays, best overlap first,
+ * so a 50k-row table is a few flat int arrays rather than one list of opportunities per beneficiary.
+ */
+public class BatchMatchResult {
+    private final List<Beneficiary> beneficiaries;
+    private final List<Opportunity> opportunities;
+    private final int k;
+    private final int[] counts;
+    private final int[] opportunityIdx;
+    private final int[] overlaps;
+    private final long elapsedNanos;
+
+    BatchMatchResult(List<Beneficiary> beneficiaries, List<Opportunity> opportunities, int k,
+                     int[] counts, int[] opportunityIdx, int[] overlaps, long elapsedNanos) {
+        this.beneficiaries = beneficiaries; this.opportunities = opportunities; this.k = k;
+        this.counts = counts; this.opportunityIdx = opportunityIdx; this.overlaps = overlaps; this.elapsedNanos = elapsedNanos;
+    }
+
+    public int beneficiaryCount() { return counts.length; }
+    public int topK() { return k; }
+    public Beneficiary beneficiary(int row) { return beneficiaries.get(row); }
+    /** Number of matches kept for a row (at most {@link #topK()}). */
+    public int matchCount(int row) { return counts[row]; }
+    public Opportunity opportunity(int row, int rank) { return opportunities.get(opportunityIdx[slot(row, rank)]); }
+    public int opportunityIndex(int row, int rank) { return opportunityIdx[slot(row, rank)]; }
+    public int overlap(int row, int rank) { return overlaps[slot(row, rank)]; }
+
+    public long totalMatches() { long t = 0; for (int c : counts) t += c; return t; }
+    public long pairsEvaluated() { return (long) beneficiaries.size() * opportunities.size(); }
+    public long elapsedNanos() { return elapsedNanos; }
+    public double pairsPerSecond() { return elapsedNanos == 0 ? 0 : pairsEvaluated() * 1e9 / elapsedNanos; }
+
+    private int slot(int row, int rank) {
+        if (rank < 0 || rank >= counts[row]) throw new IndexOutOfBoundsException("rank " + rank + " of " + counts[row]);
+        return row * k + rank;
+    }
+
+    @Override public String toString() {
+        return String.format("%d beneficiaries x %d opportunities: %d matches in %.1f ms (%.0f pairs/s)",
+            beneficiaries.size(), opportunities.size(), totalMatches(), elapsedNanos / 1e6, pairsPerSecond());
+    }
+}
@@ -0,0 +1,218 @@
+package com.liftup.services;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+import com.liftup.models.SkillSet;
+
+/**
+ * Columnar binary snapshot ({@code data.bin}), opened through a read-only memory map.
+ * <pre>
+ * header   magic, version, strings, beneficiaries, opportunities, beneficiary skill refs, opportunity skill refs, pad
+ * int[]    string offsets (strings + 1) into the UTF-8 string data
+ * int[]    beneficiary id, name, householdSize, skill start (n + 1), skill string refs
+ * int[]    opportunity id, title, skill start (n + 1), skill string refs, capacity (version 2 on)
+ * double[] opportunity payout (8-byte aligned)
+ * byte[]   UTF-8 string data; ids, names, titles and skills are de-duplicated into one table
+ * </pre>
+ * Rows are only turned into model objects when {@link #beneficiary(int)} / {@link #opportunity(int)} are called.
+ * Big-endian throughout; a single map limits the file to 2 GiB. Version 1 files (no capacity column) still open,
+ * with every capacity reading as 1.
+ * <p>
+ * {@link #close} unmaps the file straight away rather than whenever the buffer is collected, so it can be replaced
+ * (on Windows a mapped file cannot be). Reads after that throw; a snapshot shared between threads must not be
+ * closed while another thread is still reading it.
+ */
+public final class BinarySnapshot implements AutoCloseable {
+    static final int MAGIC = 0x4C555042; // "LUPB"
+    static final int VERSION = 2;
+    private static final int HEADER_INTS = 8;
+    private static final ByteBuffer CLOSED = ByteBuffer.allocate(0);
+
+    private ByteBuffer buf;
+    private final int strings, nb, no, bRefs, oRefs;
+    private final int strOff, bId, bName, bHouse, bStart, bSkills, oId, oTitle, oStart, oSkills, oCapacity, oPayout, strData;
+
+    private BinarySnapshot(ByteBuffer buf) throws IOException {
+        this.buf = buf;
+        if (buf.capacity() < HEADER_INTS * 4 || buf.getInt(0) != MAGIC) throw new IOException("Not a LiftUp binary snapshot");
+        int version = buf.getInt(4);
+        if (version < 1 || version > VERSION) throw new IOException("Unsupported binary snapshot version " + version);
+        strings = buf.getInt(8); nb = buf.getInt(12); no = buf.getInt(16); bRefs = buf.getInt(20); oRefs = buf.getInt(24);
+        int p = HEADER_INTS * 4;
+        strOff = p; p += (strings + 1) * 4;
+        bId = p; p += nb * 4;
+        bName = p; p += nb * 4;
+        bHouse = p; p += nb * 4;
+        bStart = p; p += (nb + 1) * 4;
+        bSkills = p; p += bRefs * 4;
+        oId = p; p += no * 4;
+        oTitle = p; p += no * 4;
+        oStart = p; p += (no + 1) * 4;
+        oSkills = p; p += oRefs * 4;
+        oCapacity = version >= 2 ? p : -1; if (version >= 2) p += no * 4;
+        p = align8(p);
+        oPayout = p; p += no * 8;
+        strData = p;
+        if (strData + buf.getInt(strOff + strings * 4) > buf.capacity()) throw new IOException("Truncated binary snapshot");
+    }
+
+    public static BinarySnapshot open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE) throw new IOException("Binary snapshot larger than 2 GiB");
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            try {
+                return new BinarySnapshot(map);
+            } catch (IOException | RuntimeException e) {
+                unmap(map);
+                throw e;
+            }
+        }
+    }
+
+    /** Release the mapping; rows already materialized stay valid. */
+    @Override public void close() {
+        ByteBuffer b = buf;
+        if (b == CLOSED) return;
+        buf = CLOSED;
+        unmap(b);
+    }
+
+    /**
+     * There is no public unmap before the foreign memory API, so this goes through {@code Unsafe.invokeCleaner}
+     * (module jdk.unsupported). If that is missing the mapping is released when the buffer is collected.
+     */
+    private static void unmap(ByteBuffer b) {
+        if (!b.isDirect() || UNMAPPER == null) return;
+        try { UNMAPPER.invoke(UNSAFE, b); }
+        catch (ReflectiveOperationException | RuntimeException e) { System.err.println("Could not unmap binary snapshot: " + e); }
+    }
+
+    private static final Object UNSAFE;
+    private static final Method UNMAPPER;
+    static {
+        Object unsafe = null; Method unmapper = null;
+        try {
+            Class<?> c = Class.forName("sun.misc.Unsafe");
+            Field f = c.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            unsafe = f.get(null);
+            unmapper = c.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) { unsafe = null; unmapper = null; }
+        UNSAFE = unsafe; UNMAPPER = unmapper;
+    }
+
+    public int beneficiaryCount() { return nb; }
+    public int opportunityCount() { return no; }
+
+    public String beneficiaryId(int i) { return string(buf.getInt(bId + check(i, nb) * 4)); }
+    public String beneficiaryName(int i) { return string(buf.getInt(bName + check(i, nb) * 4)); }
+    public int householdSize(int i) { return buf.getInt(bHouse + check(i, nb) * 4); }
+    public List<String> beneficiarySkills(int i) { check(i, nb); return refs(bStart, bSkills, i); }
+
+    public String opportunityId(int i) { return string(buf.getInt(oId + check(i, no) * 4)); }
+    public String opportunityTitle(int i) { return string(buf.getInt(oTitle + check(i, no) * 4)); }
+    public double payout(int i) { return buf.getDouble(oPayout + check(i, no) * 8); }
+    public List<String> opportunitySkills(int i) { check(i, no); return refs(oStart, oSkills, i); }
+    public int capacity(int i) { check(i, no); return oCapacity < 0 ? 1 : buf.getInt(oCapacity + i * 4); }
+
+    public Beneficiary beneficiary(int i) { return new Beneficiary(beneficiaryId(i), beneficiaryName(i), householdSize(i), beneficiarySkills(i)); }
+    public Opportunity opportunity(int i) { return new Opportunity(opportunityId(i), opportunityTitle(i), SkillSet.of(opportunitySkills(i)), payout(i), capacity(i)); }
+
+    /** Lazy views: each {@code get} materializes one row from the map. */
+    public List<Beneficiary> beneficiaries() { return new Rows<>(nb) { @Override public Beneficiary get(int i) { return beneficiary(i); } }; }
+    public List<Opportunity> opportunities() { return new Rows<>(no) { @Override public Opportunity get(int i) { return opportunity(i); } }; }
+
+    private abstract static class Rows<T> extends AbstractList<T> implements RandomAccess {
+        private final int size;
+        Rows(int size) { this.size = size; }
+        @Override public int size() { return size; }
+    }
+
+    private List<String> refs(int startCol, int refCol, int i) {
+        int from = buf.getInt(startCol + i * 4), to = buf.getInt(startCol + (i + 1) * 4);
+        List<String> out = new ArrayList<>(to - from);
+        for (int r = from; r < to; r++) out.add(string(buf.getInt(refCol + r * 4)));
+        return out;
+    }
+
+    private String string(int idx) {
+        int from = buf.getInt(strOff + idx * 4), to = buf.getInt(strOff + (idx + 1) * 4);
+        byte[] b = new byte[to - from];
+        buf.get(strData + from, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static int check(int i, int n) { if (i < 0 || i >= n) throw new IndexOutOfBoundsException(i + " of " + n); return i; }
+    private static int align8(int p) { return (p + 7) & ~7; }
+
+    // --- Writing ---
+
+    /** Write a snapshot crash-safely (temp file, fsync, rename); the collections are iterated several times. */
+    public static void write(File file, Collection<Beneficiary> beneficiaries, Collection<Opportunity> opportunities) throws IOException {
+        Map<String, Integer> ids = new HashMap<>();
+        List<byte[]> table = new ArrayList<>();
+        int nb = beneficiaries.size(), no = opportunities.size(), bRefs = 0, oRefs = 0;
+        for (Beneficiary b : beneficiaries) {
+            intern(ids, table, b.getId()); intern(ids, table, b.getName());
+            for (String s : b.getSkills()) { intern(ids, table, s); bRefs++; }
+        }
+        for (Opportunity o : opportunities) {
+            intern(ids, table, o.getId()); intern(ids, table, o.getTitle());
+            for (String s : o.getRequiredSkills()) { intern(ids, table, s); oRefs++; }
+        }
+        final int fbRefs = bRefs, foRefs = oRefs;
+        DataStore.atomicWriteBytes(file, raw -> {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(raw, 1 << 16));
+            int[] header = { MAGIC, VERSION, table.size(), nb, no, fbRefs, foRefs, 0 };
+            for (int h : header) out.writeInt(h);
+            int off = 0;
+            for (byte[] s : table) { out.writeInt(off); off += s.length; }
+            out.writeInt(off);
+            for (Beneficiary b : beneficiaries) out.writeInt(ids.get(b.getId()));
+            for (Beneficiary b : beneficiaries) out.writeInt(ids.get(b.getName()));
+            for (Beneficiary b : beneficiaries) out.writeInt(b.getHouseholdSize());
+            int start = 0;
+            for (Beneficiary b : beneficiaries) { out.writeInt(start); start += b.getSkills().size(); }
+            out.writeInt(start);
+            for (Beneficiary b : beneficiaries) for (String s : b.getSkills()) out.writeInt(ids.get(s));
+            for (Opportunity o : opportunities) out.writeInt(ids.get(o.getId()));
+            for (Opportunity o : opportunities) out.writeInt(ids.get(o.getTitle()));
+            start = 0;
+            for (Opportunity o : opportunities) { out.writeInt(start); start += o.getRequiredSkills().size(); }
+            out.writeInt(start);
+            for (Opportunity o : opportunities) for (String s : o.getRequiredSkills()) out.writeInt(ids.get(s));
+            for (Opportunity o : opportunities) out.writeInt(o.getCapacity());
+            int written = out.size();
+            for (int p = written; p < align8(written); p++) out.writeByte(0);
+            for (Opportunity o : opportunities) out.writeDouble(o.getPayout());
+            for (byte[] s : table) out.write(s);
+            out.flush();
+        });
+    }
+
+    private static void intern(Map<String, Integer> ids, List<byte[]> table, String s) {
+        if (ids.containsKey(s)) return;
+        ids.put(s, table.size());
+        table.add(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
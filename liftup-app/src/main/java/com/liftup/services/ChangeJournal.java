@@ -0,0 +1,148 @@
+package com.liftup.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.stream.JsonReader;
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+
+/**
+ * Append-only change log next to {@code data.json}.
+ * Edits are encoded as one JSON line each when they happen (so later edits to the live object cannot leak in)
+ * and held in memory until {@link #commit()}, which appends them and fsyncs. A save therefore costs the
+ * size of the edits, not of the dataset. {@link DataStore} folds the log into a fresh snapshot in the background.
+ */
+public class ChangeJournal {
+    static final String PUT_BENEFICIARY = "b+", REMOVE_BENEFICIARY = "b-", PUT_OPPORTUNITY = "o+", REMOVE_OPPORTUNITY = "o-";
+    /** The log's name next to the snapshot, and the suffix it gets while being folded into a new snapshot. */
+    public static final String FILE_NAME = "data.journal", COMPACTING_SUFFIX = ".compacting";
+
+    private final Path log;
+    private final Path compacting;
+    private final List<String> pending = new ArrayList<>();
+    // Records that have left the front of pending (committed or dropped); with pending.size() this gives positions
+    private long dropped;
+
+    ChangeJournal(Path log){ this.log = log; this.compacting = log.resolveSibling(log.getFileName() + COMPACTING_SUFFIX); }
+
+    public void putBeneficiary(Beneficiary b){ record(PUT_BENEFICIARY, b, null, null); }
+    public void removeBeneficiary(Beneficiary b){ record(REMOVE_BENEFICIARY, null, null, b.getId()); }
+    public void putOpportunity(Opportunity o){ record(PUT_OPPORTUNITY, null, o, null); }
+    public void removeOpportunity(Opportunity o){ record(REMOVE_OPPORTUNITY, null, null, o.getId()); }
+
+    private void record(String op, Beneficiary b, Opportunity o, String id){
+        try {
+            String line = SnapshotWriter.line(op, b, o, id);
+            synchronized(this){ pending.add(line); }
+        } catch(IOException e){ System.err.println("Failed to encode journal record: " + e.getMessage()); }
+    }
+
+    public synchronized int pendingCount(){ return pending.size(); }
+
+    /** Position just after the last record so far; a snapshot taken at the same moment covers everything before it. */
+    public synchronized long mark(){ return dropped + pending.size(); }
+
+    /** Drop edits that were never committed (e.g. after a reset). */
+    public synchronized void discardPending(){ dropped += pending.size(); pending.clear(); }
+
+    /**
+     * A fresh snapshot now holds everything before {@code mark}: drop those pending records and the committed log.
+     * Records made after the mark stay pending for the next commit. Returns how many were dropped.
+     */
+    synchronized int truncateThrough(long mark){
+        int n = (int) Math.max(0, Math.min(pending.size(), mark - dropped));
+        pending.subList(0, n).clear();
+        dropped += n;
+        deleteFiles();
+        return n;
+    }
+
+    /** Append the pending records to the log and fsync; returns how many were written. */
+    public synchronized int commit() throws IOException {
+        if(pending.isEmpty()) return 0;
+        StringBuilder sb = new StringBuilder(pending.size() * 96);
+        for(String line: pending) sb.append(line).append('\n');
+        try(FileChannel ch = FileChannel.open(log, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)){
+            ByteBuffer buf = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while(buf.hasRemaining()) ch.write(buf);
+            ch.force(false);
+        }
+        int n = pending.size();
+        pending.clear();
+        dropped += n;
+        return n;
+    }
+
+    public long logSize(){ try { return Files.exists(log) ? Files.size(log) : 0; } catch(IOException e){ return 0; } }
+
+    boolean hasCommittedRecords(){ return Files.exists(log) || Files.exists(compacting); }
+
+    /**
+     * Move the live log aside for folding and return it; commits after this go to a fresh log.
+     * A file left over from an interrupted compaction is returned as-is so it is folded first.
+     */
+    synchronized Path rotate() throws IOException {
+        if(Files.exists(compacting)) return compacting;
+        if(!Files.exists(log)) return null;
+        Files.move(log, compacting, StandardCopyOption.REPLACE_EXISTING);
+        return compacting;
+    }
+
+    void finishCompaction(Path rotated) throws IOException { if(rotated != null) Files.deleteIfExists(rotated); }
+
+    synchronized void deleteAll(){
+        discardPending();
+        deleteFiles();
+    }
+
+    private void deleteFiles(){
+        try { Files.deleteIfExists(log); Files.deleteIfExists(compacting); } catch(IOException e){ System.err.println("Failed to delete journal: " + e.getMessage()); }
+    }
+
+    /** Apply the committed records (leftover compaction file first, then the live log) on top of a loaded snapshot. */
+    void replay(Map<String, Beneficiary> beneficiaries, Map<String, Opportunity> opportunities) throws IOException {
+        replay(compacting, beneficiaries, opportunities);
+        replay(log, beneficiaries, opportunities);
+    }
+
+    static void replay(Path file, Map<String, Beneficiary> beneficiaries, Map<String, Opportunity> opportunities) throws IOException {
+        if(file == null || !Files.exists(file)) return;
+        try(BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)){
+            String line;
+            while((line = in.readLine()) != null){
+                if(line.isBlank()) continue;
+                try { apply(line, beneficiaries, opportunities); }
+                // A torn last line from a crash mid-append is expected; anything before it was fsynced
+                catch(Exception e){ System.err.println("Skipping unreadable journal record: " + e.getMessage()); }
+            }
+        }
+    }
+
+    private static void apply(String line, Map<String, Beneficiary> beneficiaries, Map<String, Opportunity> opportunities) throws IOException {
+        JsonReader r = new JsonReader(new StringReader(line));
+        r.beginObject();
+        String op = null;
+        while(r.hasNext()){
+            String name = r.nextName();
+            if("op".equals(name)) op = r.nextString();
+            else if("v".equals(name) && PUT_BENEFICIARY.equals(op)){ Beneficiary b = SnapshotReader.readBeneficiary(r); if(b != null) beneficiaries.put(b.getId(), b); }
+            else if("v".equals(name) && PUT_OPPORTUNITY.equals(op)){ Opportunity o = SnapshotReader.readOpportunity(r); if(o != null) opportunities.put(o.getId(), o); }
+            else if("id".equals(name) && REMOVE_BENEFICIARY.equals(op)) beneficiaries.remove(r.nextString());
+            else if("id".equals(name) && REMOVE_OPPORTUNITY.equals(op)) opportunities.remove(r.nextString());
+            else r.skipValue();
+        }
+        r.endObject();
+    }
+}
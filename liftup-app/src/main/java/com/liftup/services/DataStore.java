@@ -0,0 +1,332 @@
+package com.liftup.services;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.BeneficiaryRecord;
+import com.liftup.models.Opportunity;
+import com.liftup.models.OpportunityRecord;
+import com.liftup.util.Metrics;
+
+public class DataStore {
+    private final String baseResourcePath; private final String dataFile; private final File dir;
+    private static final long COMPACT_THRESHOLD_BYTES = 1 << 20;
+    private static final long COMPACT_PERIOD_SECONDS = 30;
+    private final Object compactionLock = new Object();
+    private ChangeJournal journal;
+    private ScheduledExecutorService compactor;
+    private volatile SnapshotFormat format = SnapshotFormat.JSON;
+    // One shared browser while any view uses it; closed before any file it maps is replaced
+    private final Object browserLock = new Object();
+    private SnapshotBrowser browser;
+    private int browserUsers;
+
+    /** On-disk snapshot format: JSON ({@code data.json}, the interchange format) or the memory-mapped {@link BinarySnapshot} ({@code data.bin}). */
+    public enum SnapshotFormat { JSON, BINARY }
+
+    public DataStore(String baseResourcePath, String dataFile){ this(baseResourcePath, dataFile, null); }
+
+    /** Store rooted at {@code dir} instead of {@code ~/.liftup} (benchmarks, scale runs, tools). */
+    public DataStore(String baseResourcePath, String dataFile, File dir){ this.baseResourcePath = baseResourcePath; this.dataFile = dataFile; this.dir = dir; }
+
+    private File resolve(){ try { File d = dir != null ? dir : new File(System.getProperty("user.home"), ".liftup"); if(!d.exists()) d.mkdirs(); return new File(d, "data.json"); } catch(Exception e){ return new File("data.json"); } }
+
+    private File binFile(){ return new File(resolve().getParentFile(), "data.bin"); }
+
+    /** The snapshot to load from: whichever of data.json / data.bin exists, the newer one if both do. */
+    private File currentSnapshot(){
+        File j = resolve(), b = binFile();
+        if(!b.exists()) return j.exists() ? j : null;
+        if(!j.exists()) return b;
+        return b.lastModified() >= j.lastModified() ? b : j;
+    }
+
+    private boolean isBinary(File f){ return f.getName().endsWith(".bin"); }
+
+    /** Smallest a JSON row can be on disk; a file too small to hold more rows than asked about is not scanned. */
+    private static final int MIN_JSON_ROW_BYTES = 32;
+
+    /**
+     * Whether the saved snapshot holds more than {@code limit} rows, found without loading it: a binary snapshot (or a
+     * current {@code browse.bin}) has the counts in its header, and a JSON file is streamed and counted with each batch
+     * dropped as it goes. Rows that only exist in the journal are not counted.
+     */
+    public boolean savedRowsExceed(long limit){
+        File f = currentSnapshot();
+        if(f == null) return false;
+        File cache = browseFile();
+        File counted = isBinary(f) ? f : cache.exists() && cache.lastModified() >= f.lastModified() ? cache : null;
+        try {
+            if(counted != null){ try(BinarySnapshot snap = BinarySnapshot.open(counted.toPath())){ return (long) snap.beneficiaryCount() + snap.opportunityCount() > limit; } }
+            if(f.length() / MIN_JSON_ROW_BYTES <= limit) return false;
+            long[] n = new long[1];
+            try(Reader r=new BufferedReader(new InputStreamReader(new FileInputStream(f), StandardCharsets.UTF_8), 1 << 16)){
+                RecordReader.read(r, DEFAULT_BATCH, new RecordReader.Sink(){ public void beneficiaries(List<BeneficiaryRecord> batch){ n[0] += batch.size(); } public void opportunities(List<OpportunityRecord> batch){ n[0] += batch.size(); } });
+            }
+            return n[0] > limit;
+        } catch(IOException e){ System.err.println("Failed to count saved rows: " + e.getMessage()); return false; }
+    }
+
+    /** Format used by the next snapshot write (first save, compaction, import). */
+    public void setSnapshotFormat(SnapshotFormat format){ this.format = format == null ? SnapshotFormat.JSON : format; }
+    public SnapshotFormat getSnapshotFormat(){ return format; }
+
+    /** Both sections of a snapshot, read in one pass. */
+    public static final class Snapshot {
+        public final List<Beneficiary> beneficiaries = new ArrayList<>();
+        public final List<Opportunity> opportunities = new ArrayList<>();
+    }
+
+    public static final int DEFAULT_BATCH = 4096;
+
+    public Snapshot load(boolean sample){ Snapshot s = new Snapshot(); load(sample, DEFAULT_BATCH, new SnapshotReader.Sink(){ public void beneficiaries(List<Beneficiary> batch){ s.beneficiaries.addAll(batch); } public void opportunities(List<Opportunity> batch){ s.opportunities.addAll(batch); } }); return s; }
+
+    /** Stream both sections of the saved snapshot (or the bundled sample when asked, or when there is no saved file yet) to the sink in batches. */
+    public void load(boolean sample, int batchSize, SnapshotReader.Sink sink){
+        try(Metrics.Sample m = Metrics.LOAD.start()){
+            long[] n = new long[1];
+            loadFrom(sample, batchSize, new SnapshotReader.Sink(){ public void beneficiaries(List<Beneficiary> batch){ n[0] += batch.size(); sink.beneficiaries(batch); } public void opportunities(List<Opportunity> batch){ n[0] += batch.size(); sink.opportunities(batch); } });
+            m.records(n[0]);
+        }
+    }
+
+    private void loadFrom(boolean sample, int batchSize, SnapshotReader.Sink sink){
+        File f = currentSnapshot();
+        if(sample || f == null){ try(InputStream is=getClass().getResourceAsStream("/data/sample-data.json")){ if(is==null) return; try(Reader r=new InputStreamReader(is, StandardCharsets.UTF_8)){ SnapshotReader.read(r, batchSize, sink); } } catch(Exception e){ System.err.println("Failed to read sample data: " + e.getMessage()); } return; }
+        if(journal().hasCommittedRecords()){ loadWithJournal(f, batchSize, sink); return; }
+        if(isBinary(f)){ try(BinarySnapshot snap = BinarySnapshot.open(f.toPath())){ streamBinary(snap, batchSize, sink); } catch(Exception e){ System.err.println("Failed to read binary snapshot: " + e.getMessage()); } return; }
+        try(Reader r=new BufferedReader(new InputStreamReader(new FileInputStream(f), StandardCharsets.UTF_8), 1 << 16)){ SnapshotReader.read(r, batchSize, sink); } catch(Exception e){ System.err.println("Failed to read data file: " + e.getMessage()); }
+    }
+
+    /** Snapshot plus log tail: records have to be keyed by id to apply upserts and removes, then go out in batches. */
+    private void loadWithJournal(File f, int batchSize, SnapshotReader.Sink sink){
+        Map<String,Beneficiary> bs = new LinkedHashMap<>(); Map<String,Opportunity> os = new LinkedHashMap<>();
+        try { readInto(f, bs, os); journal().replay(bs, os); } catch(Exception e){ System.err.println("Failed to replay journal: " + e.getMessage()); }
+        List<Beneficiary> bl = new ArrayList<>(bs.values()); bs.clear();
+        for(int i=0; i<bl.size(); i+=batchSize) sink.beneficiaries(new ArrayList<>(bl.subList(i, Math.min(bl.size(), i+batchSize))));
+        List<Opportunity> ol = new ArrayList<>(os.values()); os.clear();
+        for(int i=0; i<ol.size(); i+=batchSize) sink.opportunities(new ArrayList<>(ol.subList(i, Math.min(ol.size(), i+batchSize))));
+    }
+
+    /** Rows are materialized from the map one batch at a time, so only the current batch is live on this side. */
+    private static void streamBinary(BinarySnapshot snap, int batchSize, SnapshotReader.Sink sink){
+        for(int i=0; i<snap.beneficiaryCount(); i+=batchSize){ int to=Math.min(snap.beneficiaryCount(), i+batchSize); List<Beneficiary> batch=new ArrayList<>(to-i); for(int k=i; k<to; k++) batch.add(snap.beneficiary(k)); sink.beneficiaries(batch); }
+        for(int i=0; i<snap.opportunityCount(); i+=batchSize){ int to=Math.min(snap.opportunityCount(), i+batchSize); List<Opportunity> batch=new ArrayList<>(to-i); for(int k=i; k<to; k++) batch.add(snap.opportunity(k)); sink.opportunities(batch); }
+    }
+
+    private void readInto(File f, Map<String,Beneficiary> bs, Map<String,Opportunity> os) throws IOException {
+        if(isBinary(f)){ try(BinarySnapshot snap = BinarySnapshot.open(f.toPath())){ for(int i=0; i<snap.beneficiaryCount(); i++){ Beneficiary b = snap.beneficiary(i); bs.put(b.getId(), b); } for(int i=0; i<snap.opportunityCount(); i++){ Opportunity o = snap.opportunity(i); os.put(o.getId(), o); } } return; }
+        try(Reader r=new BufferedReader(new InputStreamReader(new FileInputStream(f), StandardCharsets.UTF_8), 1 << 16)){
+            SnapshotReader.read(r, DEFAULT_BATCH, new SnapshotReader.Sink(){ public void beneficiaries(List<Beneficiary> batch){ for(Beneficiary b: batch) bs.put(b.getId(), b); } public void opportunities(List<Opportunity> batch){ for(Opportunity o: batch) os.put(o.getId(), o); } });
+        }
+    }
+
+    // --- Journaled persistence ---
+
+    /** Change journal for {@code data.json}; opening it also starts the background compactor. */
+    public synchronized ChangeJournal journal(){
+        if(journal == null){
+            journal = new ChangeJournal(new File(resolve().getParentFile(), ChangeJournal.FILE_NAME).toPath());
+            compactor = Executors.newSingleThreadScheduledExecutor(r -> { Thread t = new Thread(r, "liftup-compactor"); t.setDaemon(true); return t; });
+            compactor.scheduleWithFixedDelay(() -> { if(journal.logSize() > COMPACT_THRESHOLD_BYTES) compact(); }, COMPACT_PERIOD_SECONDS, COMPACT_PERIOD_SECONDS, TimeUnit.SECONDS);
+        }
+        return journal;
+    }
+
+    public boolean hasSnapshot(){ return currentSnapshot() != null; }
+
+    /**
+     * Journaled save: appends the pending edits and fsyncs. The very first save (no snapshot on disk yet)
+     * writes the full lists once, because there is nothing for the log to apply to. For callers that own the lists
+     * on this thread; the UI uses {@link #commit(List, List, long)}.
+     */
+    public int commit(List<Beneficiary> beneficiaries, List<Opportunity> opportunities) throws IOException {
+        return commitOrSnapshot(() -> beneficiaries, () -> opportunities, journal().mark());
+    }
+
+    /**
+     * Save from another thread: the records and {@code journalMark} ({@link ChangeJournal#mark}) are taken together
+     * on the thread that edits the lists. If the first snapshot has to be written it holds exactly the records, and
+     * only journal records before the mark are dropped; edits made since stay pending for the next save.
+     */
+    public int commit(List<BeneficiaryRecord> beneficiaries, List<OpportunityRecord> opportunities, long journalMark) throws IOException {
+        return commitOrSnapshot(() -> beneficiaries.stream().map(Beneficiary::new).toList(), () -> opportunities.stream().map(Opportunity::new).toList(), journalMark);
+    }
+
+    /** Journal-only save, for when {@link #hasSnapshot} already holds. Never drops a pending edit. */
+    public int commit() throws IOException { return commit(List.<BeneficiaryRecord>of(), List.<OpportunityRecord>of(), 0); }
+
+    private int commitOrSnapshot(Supplier<List<Beneficiary>> beneficiaries, Supplier<List<Opportunity>> opportunities, long journalMark) throws IOException {
+        try(Metrics.Sample m = Metrics.SAVE.start()){
+            ChangeJournal j = journal();
+            synchronized(compactionLock){
+                if(currentSnapshot() == null){
+                    List<Beneficiary> bs = beneficiaries.get(); List<Opportunity> os = opportunities.get();
+                    writeSnapshot(bs, os);
+                    m.records(bs.size() + os.size());
+                    return j.truncateThrough(journalMark);
+                }
+            }
+            int n = j.commit();
+            m.records(n);
+            return n;
+        }
+    }
+
+    /** Fold the log into a fresh snapshot; runs on the compactor thread while saves keep appending to a new log. */
+    public boolean compact(){
+        synchronized(compactionLock){
+            File f = currentSnapshot(); ChangeJournal j = journal();
+            if(f == null) return false;
+            try(Metrics.Sample m = Metrics.COMPACT.start()){
+                Path rotated = j.rotate();
+                if(rotated == null) return false;
+                Map<String,Beneficiary> bs = new LinkedHashMap<>(); Map<String,Opportunity> os = new LinkedHashMap<>();
+                readInto(f, bs, os);
+                ChangeJournal.replay(rotated, bs, os);
+                writeSnapshot(bs.values(), os.values());
+                j.finishCompaction(rotated);
+                m.records(bs.size() + os.size());
+                return true;
+            } catch(Exception e){ System.err.println("Journal compaction failed: " + e.getMessage()); return false; }
+        }
+    }
+
+    /** Write a full snapshot in the configured format and drop the other format's file so only one is authoritative. */
+    private void writeSnapshot(Collection<Beneficiary> bs, Collection<Opportunity> os) throws IOException {
+        closeBrowser();
+        File j = resolve(), b = binFile();
+        if(format == SnapshotFormat.BINARY){ BinarySnapshot.write(b, bs, os); Files.deleteIfExists(j.toPath()); }
+        else { atomicWrite(j, w -> SnapshotWriter.write(w, bs, os)); Files.deleteIfExists(b.toPath()); }
+    }
+
+    /**
+     * Read-only view of the saved data for paged browsing; pair every call with {@link #release}. Committed journal
+     * records are folded in first. A JSON snapshot has no random access, so it is converted once into
+     * {@code browse.bin}, which is reused until the JSON changes. Callers share one browser; it is closed when the
+     * last one releases it, or earlier when a save, compaction, import or reset replaces the file it maps.
+     */
+    public SnapshotBrowser browse() throws IOException {
+        synchronized(compactionLock){
+            if(journal().hasCommittedRecords()) compact();
+            synchronized(browserLock){
+                if(browser == null || browser.isClosed()){ browser = openBrowser(); browserUsers = 0; }
+                browserUsers++;
+                return browser;
+            }
+        }
+    }
+
+    /** Give back a browser from {@link #browse}; the mapping is released once nobody uses it. */
+    public void release(SnapshotBrowser b){
+        SnapshotBrowser close = null;
+        synchronized(browserLock){
+            if(b != browser) return;
+            if(--browserUsers <= 0){ close = browser; browser = null; browserUsers = 0; }
+        }
+        if(close != null) close.close();
+    }
+
+    private SnapshotBrowser openBrowser() throws IOException {
+        File f = currentSnapshot();
+        if(f == null) throw new FileNotFoundException("Nothing has been saved yet");
+        if(isBinary(f)) return new SnapshotBrowser(BinarySnapshot.open(f.toPath()));
+        File cache = browseFile();
+        if(!cache.exists() || cache.lastModified() < f.lastModified()){
+            Map<String,Beneficiary> bs = new LinkedHashMap<>(); Map<String,Opportunity> os = new LinkedHashMap<>();
+            readInto(f, bs, os);
+            BinarySnapshot.write(cache, bs.values(), os.values());
+        }
+        return new SnapshotBrowser(BinarySnapshot.open(cache.toPath()));
+    }
+
+    private void closeBrowser(){
+        SnapshotBrowser close;
+        synchronized(browserLock){ close = browser; browser = null; browserUsers = 0; }
+        if(close != null) close.close();
+    }
+
+    private File browseFile(){ return new File(resolve().getParentFile(), "browse.bin"); }
+
+    /** Export the current data (snapshot plus committed journal) as JSON, whatever the snapshot format. */
+    public void exportJson(File target) throws IOException {
+        synchronized(compactionLock){
+            Map<String,Beneficiary> bs = new LinkedHashMap<>(); Map<String,Opportunity> os = new LinkedHashMap<>();
+            File f = currentSnapshot();
+            if(f != null){ readInto(f, bs, os); journal().replay(bs, os); }
+            atomicWrite(target, w -> SnapshotWriter.write(w, bs.values(), os.values()));
+        }
+    }
+
+    /** Replace the saved data with a JSON file, written in the configured snapshot format; uncommitted and committed journal records are dropped. */
+    public void importJson(File source) throws IOException {
+        synchronized(compactionLock){
+            Map<String,Beneficiary> bs = new LinkedHashMap<>(); Map<String,Opportunity> os = new LinkedHashMap<>();
+            readInto(source, bs, os);
+            journal().deleteAll();
+            writeSnapshot(bs.values(), os.values());
+        }
+    }
+
+    interface WriterBody { void write(Writer w) throws IOException; }
+    interface StreamBody { void write(OutputStream out) throws IOException; }
+
+    /**
+     * Crash-safe replace: write a sibling temp file, fsync it, then rename it over the target.
+     * A crash leaves either the old file or the new one, never a truncated mix.
+     */
+    static void atomicWrite(File f, WriterBody body) throws IOException {
+        atomicWriteBytes(f, out -> {
+            Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+            body.write(w);
+            w.flush();
+        });
+    }
+
+    static void atomicWriteBytes(File f, StreamBody body) throws IOException {
+        File tmp = new File(f.getParentFile(), f.getName() + ".tmp");
+        try(FileOutputStream fos = new FileOutputStream(tmp)){
+            body.write(fos);
+            fos.getChannel().force(true);
+        }
+        try { Files.move(tmp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE); }
+        catch(AtomicMoveNotSupportedException e){ Files.move(tmp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING); }
+        // Persist the rename itself; directories cannot be opened for sync on every platform
+        try(FileChannel dir = FileChannel.open(f.getParentFile().toPath(), StandardOpenOption.READ)){ dir.force(true); } catch(IOException | UnsupportedOperationException ignored){}
+    }
+
+    public void close(){ ScheduledExecutorService c; synchronized(this){ c = compactor; } if(c != null) c.shutdownNow(); closeBrowser(); }
+
+    public List<Beneficiary> loadBeneficiaries(boolean sample){ return load(sample).beneficiaries; }
+    public List<Opportunity> loadOpportunities(boolean sample){ return load(sample).opportunities; }
+
+    public void reset(){ synchronized(compactionLock){ closeBrowser(); File f = resolve(); if(f.exists()) f.delete(); File b = binFile(); if(b.exists()) b.delete(); File c = browseFile(); if(c.exists()) c.delete(); journal().deleteAll(); } }
+}
@@ -0,0 +1,196 @@
+package com.liftup.services;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javafx.collections.ListChangeListener;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+import com.liftup.models.SkillSet;
+import com.liftup.util.Metrics;
+
+/**
+ * Keeps the set of matching beneficiary–opportunity pairs (overlap at least {@link #getMinOverlap}) current from
+ * list deltas and reports what changed as {@link Event}s; nothing is ever rescanned. An opportunity change walks a
+ * reverse index from skill to beneficiaries, a beneficiary change walks the opportunity {@link SkillIndex}, so the
+ * cost is the pairs sharing a skill with the old or new skills. Each row's last-seen skills are remembered, so an
+ * in-place edit reported as an update compares old against new. Changes of more than {@link #BULK_ROWS} rows (loads,
+ * imports, resets) become the new baseline without events. FX thread only, like the index it reads.
+ */
+public class IncrementalMatcher {
+
+    /** Above this many rows in one list change, pairs are not diffed and no events are sent. */
+    public static final int BULK_ROWS = 64;
+
+    public enum Kind { NEW, LOST }
+
+    /** A pair that started or stopped matching; {@code overlap} is the current one for NEW and the old one for LOST. */
+    public record Event(Kind kind, Beneficiary beneficiary, Opportunity opportunity, int overlap) {}
+
+    /** One indexed beneficiary; {@code before} / {@code after} are scratch overlap counts, zero between changes. */
+    private static final class Row {
+        final Beneficiary beneficiary; SkillSet skills; int before, after;
+        Row(Beneficiary beneficiary) { this.beneficiary = beneficiary; this.skills = beneficiary.getSkillSet(); }
+    }
+
+    private final SkillIndex opportunityIndex;
+    private final List<Set<Row>> postings = new ArrayList<>();
+    private final Map<Beneficiary, Row> rows = new IdentityHashMap<>();
+    private final Map<Opportunity, SkillSet> opportunities = new IdentityHashMap<>();
+    private final List<Row> touched = new ArrayList<>();
+    private final List<Consumer<List<Event>>> listeners = new ArrayList<>();
+    private int minOverlap = 1;
+
+    /** {@code opportunityIndex} must already be in step with the opportunity list when beneficiaries change. */
+    public IncrementalMatcher(SkillIndex opportunityIndex) { this.opportunityIndex = opportunityIndex; }
+
+    /** Called with the events of each change that produced any. */
+    public void addListener(Consumer<List<Event>> l) { listeners.add(l); }
+
+    public int getMinOverlap() { return minOverlap; }
+
+    /** Takes effect from the next change; the pairs that already match under the new floor are not reported. */
+    public void setMinOverlap(int minOverlap) { this.minOverlap = Math.max(1, minOverlap); }
+
+    public int beneficiaryCount() { return rows.size(); }
+    public int opportunityCount() { return opportunities.size(); }
+
+    public void onBeneficiaries(ListChangeListener.Change<? extends Beneficiary> c) {
+        List<Event> events = new ArrayList<>();
+        try (Metrics.Sample m = Metrics.INCREMENTAL.start()) {
+            long n = 0;
+            boolean bulk = size(c) > BULK_ROWS;
+            c.reset();
+            while (c.next()) {
+                if (c.wasPermutated()) continue;
+                if (c.wasUpdated()) {
+                    for (int i = c.getFrom(); i < c.getTo(); i++) {
+                        Row r = rows.get(c.getList().get(i));
+                        if (r != null && !r.skills.equals(r.beneficiary.getSkillSet())) reskill(r, r.beneficiary.getSkillSet(), bulk ? null : events);
+                    }
+                    n += c.getTo() - c.getFrom();
+                    continue;
+                }
+                for (Beneficiary b : c.getRemoved()) { Row r = rows.remove(b); if (r != null) reskill(r, SkillSet.EMPTY, bulk ? null : events); }
+                for (Beneficiary b : c.getAddedSubList()) {
+                    if (rows.containsKey(b)) continue;
+                    Row r = new Row(b);
+                    SkillSet skills = r.skills;
+                    r.skills = SkillSet.EMPTY;
+                    rows.put(b, r);
+                    reskill(r, skills, bulk ? null : events);
+                }
+                n += c.getRemovedSize() + c.getAddedSize();
+            }
+            m.records(n);
+        }
+        fire(events);
+    }
+
+    public void onOpportunities(ListChangeListener.Change<? extends Opportunity> c) {
+        List<Event> events = new ArrayList<>();
+        try (Metrics.Sample m = Metrics.INCREMENTAL.start()) {
+            long n = 0;
+            boolean bulk = size(c) > BULK_ROWS;
+            c.reset();
+            while (c.next()) {
+                if (c.wasPermutated()) continue;
+                if (c.wasUpdated()) {
+                    for (int i = c.getFrom(); i < c.getTo(); i++) {
+                        Opportunity o = c.getList().get(i);
+                        SkillSet was = opportunities.get(o);
+                        if (was != null && !was.equals(o.getRequiredSkillSet())) reskill(o, was, o.getRequiredSkillSet(), bulk ? null : events);
+                    }
+                    n += c.getTo() - c.getFrom();
+                    continue;
+                }
+                for (Opportunity o : c.getRemoved()) { SkillSet was = opportunities.get(o); if (was != null) reskill(o, was, null, bulk ? null : events); }
+                for (Opportunity o : c.getAddedSubList()) if (!opportunities.containsKey(o)) reskill(o, SkillSet.EMPTY, o.getRequiredSkillSet(), bulk ? null : events);
+                n += c.getRemovedSize() + c.getAddedSize();
+            }
+            m.records(n);
+        }
+        fire(events);
+    }
+
+    private static int size(ListChangeListener.Change<?> c) {
+        int n = 0;
+        while (c.next()) n += c.wasUpdated() ? c.getTo() - c.getFrom() : c.getRemovedSize() + c.getAddedSize();
+        return n;
+    }
+
+    /** Move a beneficiary to new skills; pairs are diffed against the opportunity index unless {@code events} is null. */
+    private void reskill(Row r, SkillSet skills, List<Event> events) {
+        unpost(r);
+        SkillSet was = r.skills;
+        r.skills = skills;
+        if (rows.get(r.beneficiary) == r) post(r);
+        if (events == null) return;
+        Map<Opportunity, int[]> overlaps = new IdentityHashMap<>();
+        opportunityIndex.forEachCandidate(was, (o, overlap) -> overlaps.put(o, new int[] { overlap, 0 }));
+        opportunityIndex.forEachCandidate(skills, (o, overlap) -> overlaps.computeIfAbsent(o, k -> new int[2])[1] = overlap);
+        for (Map.Entry<Opportunity, int[]> e : overlaps.entrySet()) diff(r.beneficiary, e.getKey(), e.getValue()[0], e.getValue()[1], events);
+    }
+
+    /** Move an opportunity to new skills ({@code null} once removed), diffing the beneficiaries that share either set. */
+    private void reskill(Opportunity o, SkillSet was, SkillSet skills, List<Event> events) {
+        if (skills == null) opportunities.remove(o); else opportunities.put(o, skills);
+        if (events == null) return;
+        count(was, true);
+        if (skills != null) count(skills, false);
+        try {
+            for (Row r : touched) diff(r.beneficiary, o, r.before, r.after, events);
+        } finally {
+            for (Row r : touched) r.before = r.after = 0;
+            touched.clear();
+        }
+    }
+
+    private void count(SkillSet skills, boolean before) {
+        for (int i = 0; i < skills.size(); i++) {
+            Set<Row> p = posting(skills.id(i));
+            if (p == null) continue;
+            for (Row r : p) {
+                if (r.before == 0 && r.after == 0) touched.add(r);
+                if (before) r.before++; else r.after++;
+            }
+        }
+    }
+
+    private void diff(Beneficiary b, Opportunity o, int before, int after, List<Event> events) {
+        boolean was = before >= minOverlap, is = after >= minOverlap;
+        if (is && !was) events.add(new Event(Kind.NEW, b, o, after));
+        else if (was && !is) events.add(new Event(Kind.LOST, b, o, before));
+    }
+
+    private void post(Row r) {
+        for (int i = 0; i < r.skills.size(); i++) {
+            int id = r.skills.id(i);
+            while (postings.size() <= id) postings.add(null);
+            Set<Row> p = postings.get(id);
+            if (p == null) postings.set(id, p = new LinkedHashSet<>());
+            p.add(r);
+        }
+    }
+
+    private void unpost(Row r) {
+        for (int i = 0; i < r.skills.size(); i++) {
+            Set<Row> p = posting(r.skills.id(i));
+            if (p != null) p.remove(r);
+        }
+    }
+
+    private Set<Row> posting(int id) { return id < postings.size() ? postings.get(id) : null; }
+
+    private void fire(List<Event> events) {
+        if (events.isEmpty()) return;
+        List<Event> view = List.copyOf(events);
+        for (Consumer<List<Event>> l : listeners) l.accept(view);
+    }
+}
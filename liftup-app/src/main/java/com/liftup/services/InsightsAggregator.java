@@ -0,0 +1,194 @@
+package com.liftup.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javafx.collections.ListChangeListener;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+import com.liftup.models.OpportunityRecord;
+import com.liftup.models.SkillDictionary;
+import com.liftup.models.SkillSet;
+import com.liftup.util.Metrics;
+
+/**
+ * Dashboard figures maintained from list deltas instead of rescans: adding or removing k rows costs O(k log n).
+ * Each row's last contribution is remembered, so an in-place edit (household size, payout, skills) is applied by
+ * calling {@link #updated(Beneficiary)} / {@link #updated(Opportunity)}, which retracts the old values and adds the
+ * new ones. Payouts are summed in sen so long add/remove sequences do not drift. FX thread only.
+ */
+public class InsightsAggregator {
+
+    private record BeneficiaryPart(int household, int skills) {}
+
+    private record OpportunityPart(Opportunity opportunity, long payoutMinor, SkillSet skills, long seq) {}
+
+    /** Highest payout first; insertion order breaks ties so equal payouts stay distinct in the set. */
+    private static final Comparator<OpportunityPart> BY_PAYOUT =
+        Comparator.comparingLong(OpportunityPart::payoutMinor).reversed().thenComparingLong(OpportunityPart::seq);
+
+    private final Map<Beneficiary, BeneficiaryPart> beneficiaries = new IdentityHashMap<>();
+    private final Map<Opportunity, OpportunityPart> opportunities = new IdentityHashMap<>();
+    private long householdSum, payoutSumMinor, seq;
+    private final TreeMap<Integer, Long> skillCountHistogram = new TreeMap<>();
+    // Ordered by payout so removals are O(log n); a bounded heap could not refill after its top entry is removed
+    private final TreeSet<OpportunityPart> byPayout = new TreeSet<>(BY_PAYOUT);
+    // Required-skill frequency by skill ID, plus the same counts ranked as (count << 32 | ~id)
+    private long[] skillFrequency = new long[64];
+    private final TreeSet<Long> skillRanking = new TreeSet<>();
+    private final List<Runnable> listeners = new ArrayList<>();
+
+    /** Called after every applied change. */
+    public void addListener(Runnable r) { listeners.add(r); }
+
+    /** Rebuild from scratch, e.g. after a bulk load that bypassed the change listeners. */
+    public void reset(List<? extends Beneficiary> bs, List<? extends Opportunity> os) {
+        try (Metrics.Sample m = Metrics.INSIGHTS.start()) { m.records(bs.size() + os.size()); rebuild(bs, os); }
+        fire();
+    }
+
+    private void rebuild(List<? extends Beneficiary> bs, List<? extends Opportunity> os) {
+        beneficiaries.clear(); opportunities.clear(); byPayout.clear(); skillRanking.clear(); skillCountHistogram.clear();
+        Arrays.fill(skillFrequency, 0);
+        householdSum = payoutSumMinor = 0;
+        for (Beneficiary b : bs) add(b);
+        for (Opportunity o : os) add(o);
+    }
+
+    public void onBeneficiaries(ListChangeListener.Change<? extends Beneficiary> c) {
+        try (Metrics.Sample m = Metrics.INSIGHTS.start()) {
+            long rows = 0;
+            while (c.next()) {
+                if (c.wasPermutated()) continue;
+                if (c.wasUpdated()) { for (int i = c.getFrom(); i < c.getTo(); i++) replace(c.getList().get(i)); rows += c.getTo() - c.getFrom(); continue; }
+                for (Beneficiary b : c.getRemoved()) remove(b);
+                for (Beneficiary b : c.getAddedSubList()) add(b);
+                rows += c.getRemovedSize() + c.getAddedSize();
+            }
+            m.records(rows);
+        }
+        fire();
+    }
+
+    public void onOpportunities(ListChangeListener.Change<? extends Opportunity> c) {
+        try (Metrics.Sample m = Metrics.INSIGHTS.start()) {
+            long rows = 0;
+            while (c.next()) {
+                if (c.wasPermutated()) continue;
+                if (c.wasUpdated()) { for (int i = c.getFrom(); i < c.getTo(); i++) replace(c.getList().get(i)); rows += c.getTo() - c.getFrom(); continue; }
+                for (Opportunity o : c.getRemoved()) remove(o);
+                for (Opportunity o : c.getAddedSubList()) add(o);
+                rows += c.getRemovedSize() + c.getAddedSize();
+            }
+            m.records(rows);
+        }
+        fire();
+    }
+
+    /** Re-read a beneficiary that was edited in place. */
+    public void updated(Beneficiary b) { replace(b); fire(); }
+
+    /** Re-read an opportunity that was edited in place. */
+    public void updated(Opportunity o) { replace(o); fire(); }
+
+    // --- Queries ---
+
+    public int beneficiaryCount() { return beneficiaries.size(); }
+    public int opportunityCount() { return opportunities.size(); }
+    public double averageHouseholdSize() { return beneficiaries.isEmpty() ? 0 : (double) householdSum / beneficiaries.size(); }
+    public long totalPayoutMinor() { return payoutSumMinor; }
+    public double totalPayout() { return Ledger.toMajor(payoutSumMinor); }
+
+    /** Beneficiaries per number of skills, ascending by skill count. */
+    public SortedMap<Integer, Long> skillCountHistogram() { return Collections.unmodifiableSortedMap(skillCountHistogram); }
+
+    /** The {@code k} highest-paying opportunities, highest first. */
+    public List<Opportunity> topPayouts(int k) {
+        List<Opportunity> out = new ArrayList<>(k);
+        for (Iterator<OpportunityPart> it = byPayout.iterator(); it.hasNext() && out.size() < k; ) out.add(it.next().opportunity());
+        return out;
+    }
+
+    /** The {@code k} most required skills (display name, number of opportunities), most frequent first. */
+    public List<Map.Entry<String, Long>> topSkills(int k) {
+        SkillDictionary dict = SkillDictionary.global();
+        List<Map.Entry<String, Long>> out = new ArrayList<>(k);
+        for (Iterator<Long> it = skillRanking.descendingIterator(); it.hasNext() && out.size() < k; ) {
+            long key = it.next();
+            out.add(Map.entry(dict.name(~(int) key), key >>> 32));
+        }
+        return out;
+    }
+
+    // --- Contributions ---
+
+    private void add(Beneficiary b) {
+        BeneficiaryPart p = new BeneficiaryPart(b.getHouseholdSize(), b.getSkillSet().size());
+        BeneficiaryPart old = beneficiaries.put(b, p);
+        if (old != null) retract(old);
+        householdSum += p.household();
+        skillCountHistogram.merge(p.skills(), 1L, Long::sum);
+    }
+
+    private void remove(Beneficiary b) {
+        BeneficiaryPart p = beneficiaries.remove(b);
+        if (p != null) retract(p);
+    }
+
+    private void retract(BeneficiaryPart p) {
+        householdSum -= p.household();
+        skillCountHistogram.computeIfPresent(p.skills(), (k, n) -> n == 1 ? null : n - 1);
+    }
+
+    private void replace(Beneficiary b) { if (beneficiaries.containsKey(b)) add(b); }
+
+    private void add(Opportunity o) {
+        OpportunityPart p = new OpportunityPart(o, payoutMinor(o.getPayout()), o.getRequiredSkillSet(), seq++);
+        OpportunityPart old = opportunities.put(o, p);
+        if (old != null) retract(old);
+        payoutSumMinor += p.payoutMinor();
+        byPayout.add(p);
+        for (int i = 0; i < p.skills().size(); i++) bump(p.skills().sortedId(i), 1);
+    }
+
+    /** Sen for the sums; a payout out of range (e.g. from an old file) counts as zero rather than killing the listener. */
+    private static long payoutMinor(double payout) {
+        return Double.isFinite(payout) && Math.abs(payout) <= OpportunityRecord.MAX_PAYOUT ? Ledger.toMinor(payout) : 0;
+    }
+
+    private void remove(Opportunity o) {
+        OpportunityPart p = opportunities.remove(o);
+        if (p != null) retract(p);
+    }
+
+    private void retract(OpportunityPart p) {
+        payoutSumMinor -= p.payoutMinor();
+        byPayout.remove(p);
+        for (int i = 0; i < p.skills().size(); i++) bump(p.skills().sortedId(i), -1);
+    }
+
+    private void replace(Opportunity o) { if (opportunities.containsKey(o)) add(o); }
+
+    private void bump(int id, int delta) {
+        if (id >= skillFrequency.length) skillFrequency = Arrays.copyOf(skillFrequency, Math.max(id + 1, skillFrequency.length * 2));
+        long before = skillFrequency[id], after = before + delta;
+        skillFrequency[id] = after;
+        if (before > 0) skillRanking.remove(rank(before, id));
+        if (after > 0) skillRanking.add(rank(after, id));
+    }
+
+    /** Ascending key order is (count, then lower ID last), so a descending walk gives most frequent, lowest ID first. */
+    private static long rank(long count, int id) { return count << 32 | (~id & 0xFFFFFFFFL); }
+
+    private void fire() { for (Runnable r : listeners) r.run(); }
+}
@@ -0,0 +1,163 @@
+package com.liftup.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe balance ledger in exact minor units (sen for MYR).
+ * Accounts are guarded by a fixed array of striped locks; two-account operations take both stripes in
+ * ascending index order, so concurrent transfers in opposite directions cannot deadlock.
+ * Balances are only written under their stripe and published through a volatile field, so reads never lock.
+ * No operation ever leaves a balance below zero.
+ * The package-private overloads take a {@code commit} hook that runs under the same locks once the movement is
+ * known to be valid and before any balance is written; if it throws, nothing changes. {@link WalletService} uses
+ * it to make a movement durable before any other thread can see or spend it.
+ */
+public class Ledger {
+    private static final int STRIPES = 64; // power of two
+
+    private static final class Account {
+        volatile long balance;
+    }
+
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public Ledger() { for (int i = 0; i < STRIPES; i++) locks[i] = new ReentrantLock(); }
+
+    /** Major units (e.g. 12.345 MYR) to minor units, rounding half-up to the nearest sen. */
+    public static long toMinor(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    public static double toMajor(long minor) { return BigDecimal.valueOf(minor, 2).doubleValue(); }
+
+    public static String format(long minor) { return BigDecimal.valueOf(minor, 2).toPlainString(); }
+
+    public long balance(String id) {
+        Account a = accounts.get(id);
+        return a == null ? 0 : a.balance;
+    }
+
+    public void credit(String id, long minor) { credit(id, minor, null); }
+
+    void credit(String id, long minor, Runnable commit) {
+        requireNonNegative(minor);
+        ReentrantLock l = lockFor(id);
+        l.lock();
+        try {
+            Account a = account(id);
+            long credited = Math.addExact(a.balance, minor);
+            if (commit != null) commit.run();
+            a.balance = credited;
+        } finally { l.unlock(); }
+    }
+
+    /** Debit only if the balance covers it; returns whether it happened. */
+    public boolean debit(String id, long minor) { return debit(id, minor, null); }
+
+    boolean debit(String id, long minor, Runnable commit) {
+        requireNonNegative(minor);
+        ReentrantLock l = lockFor(id);
+        l.lock();
+        try {
+            Account a = account(id);
+            if (a.balance < minor) return false;
+            if (commit != null) commit.run();
+            a.balance -= minor;
+            return true;
+        } finally { l.unlock(); }
+    }
+
+    /** Atomic check-and-move between two accounts; returns false (and changes nothing) on insufficient funds. */
+    public boolean transfer(String fromId, String toId, long minor) { return transfer(fromId, toId, minor, null); }
+
+    boolean transfer(String fromId, String toId, long minor, Runnable commit) {
+        requireNonNegative(minor);
+        int a = stripe(fromId), b = stripe(toId);
+        ReentrantLock first = locks[Math.min(a, b)], second = locks[Math.max(a, b)];
+        first.lock();
+        try {
+            if (second != first) second.lock();
+            try {
+                Account from = account(fromId);
+                if (from.balance < minor) return false;
+                if (fromId.equals(toId)) { if (commit != null) commit.run(); return true; }
+                Account to = account(toId);
+                long credited = Math.addExact(to.balance, minor);
+                if (commit != null) commit.run();
+                from.balance -= minor;
+                to.balance = credited;
+                return true;
+            } finally { if (second != first) second.unlock(); }
+        } finally { first.unlock(); }
+    }
+
+    /**
+     * Move {@code minor[i]} to each {@code toIds[i]} as one all-or-nothing operation: the donor's balance is checked
+     * once against the total and every stripe involved is held (in ascending order) while the legs are applied.
+     * Returns false, changing nothing, if the donor cannot cover the total; throws {@link ArithmeticException},
+     * again changing nothing, if a recipient's balance would overflow.
+     */
+    public boolean transferBatch(String fromId, String[] toIds, long[] minor) { return transferBatch(fromId, toIds, minor, null); }
+
+    boolean transferBatch(String fromId, String[] toIds, long[] minor, Runnable commit) {
+        if (toIds.length != minor.length) throw new IllegalArgumentException("Each leg needs an amount");
+        long total = 0;
+        boolean[] held = new boolean[STRIPES];
+        held[stripe(fromId)] = true;
+        for (int i = 0; i < toIds.length; i++) {
+            requireNonNegative(minor[i]);
+            total = Math.addExact(total, minor[i]);
+            held[stripe(toIds[i])] = true;
+        }
+        int locked = 0;
+        try {
+            for (; locked < STRIPES; locked++) if (held[locked]) locks[locked].lock();
+            Account from = account(fromId);
+            if (from.balance < total) return false;
+            // Every new balance is worked out (overflow-checked) before any is written, so a bad leg changes nothing
+            Map<Account, Long> next = new IdentityHashMap<>();
+            next.put(from, from.balance - total);
+            for (int i = 0; i < toIds.length; i++) {
+                Account to = account(toIds[i]);
+                Long current = next.get(to);
+                next.put(to, Math.addExact(current == null ? to.balance : current, minor[i]));
+            }
+            if (commit != null) commit.run();
+            next.forEach((account, balance) -> account.balance = balance);
+            return true;
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) if (held[i]) locks[i].unlock();
+        }
+    }
+
+    /** Point-in-time copy of all balances (each read is individually consistent). */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> out = new ConcurrentHashMap<>();
+        accounts.forEach((id, a) -> out.put(id, a.balance));
+        return out;
+    }
+
+    /** Load recovered balances; only for start-up, before the ledger is shared. */
+    void restore(Map<String, Long> balances) {
+        balances.forEach((id, minor) -> { if (minor != 0) account(id).balance = minor; });
+    }
+
+    private Account account(String id) { return accounts.computeIfAbsent(id, k -> new Account()); }
+
+    private ReentrantLock lockFor(String id) { return locks[stripe(id)]; }
+
+    private static int stripe(String id) {
+        int h = id.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    private static void requireNonNegative(long minor) {
+        if (minor < 0) throw new IllegalArgumentException("Amount must not be negative: " + minor);
+    }
+}
@@ -0,0 +1,98 @@
+package com.liftup.services;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+import com.liftup.util.Metrics;
+
+/**
+ * Bounded LRU cache of a beneficiary's match candidates: every opportunity sharing at least one skill, with its
+ * overlap. An entry is reused while the beneficiary's {@linkplain Beneficiary#getSkillsVersion skills version} is
+ * unchanged and no opportunity sharing one of those skills has been added, removed or re-skilled since
+ * ({@link SkillIndex#changedSince}), so an edit only invalidates the beneficiaries it can affect. Overlap floors,
+ * top K, weights and payouts are all applied on top of the candidates, so changing them never misses.
+ * Hits, misses and evictions are also published as {@code matchCache.*} counters in {@link Metrics}.
+ * Not thread-safe: use from the FX thread, like the index.
+ */
+public final class MatchCache {
+    /** Candidate opportunities and overlaps in index order; never modified once built. */
+    static final class Candidates {
+        final Opportunity[] opportunities;
+        final int[] overlaps;
+        Candidates(Opportunity[] opportunities, int[] overlaps) { this.opportunities = opportunities; this.overlaps = overlaps; }
+        int size() { return overlaps.length; }
+    }
+
+    private record Entry(int skillsVersion, long epoch, Candidates candidates) {}
+
+    private final int capacity;
+    private final LinkedHashMap<Beneficiary, Entry> entries;
+    private long hits, misses, evictions;
+
+    /** {@code capacity} 0 disables caching; every lookup is then a miss. */
+    public MatchCache(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("capacity must not be negative");
+        this.capacity = capacity;
+        // Beneficiary keeps identity equality, so rows with equal values never share an entry
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<Beneficiary, Entry> eldest) {
+                if (size() <= MatchCache.this.capacity) return false;
+                evictions++;
+                Metrics.count("matchCache.evictions", 1);
+                return true;
+            }
+        };
+    }
+
+    Candidates candidates(Beneficiary b, SkillIndex index) {
+        Entry e = entries.get(b);
+        if (e != null && e.skillsVersion() == b.getSkillsVersion() && !index.changedSince(b.getSkillSet(), e.epoch())) {
+            hits++;
+            Metrics.count("matchCache.hits", 1);
+            return e.candidates();
+        }
+        misses++;
+        Metrics.count("matchCache.misses", 1);
+        Candidates c = lookup(b, index);
+        if (capacity > 0) entries.put(b, new Entry(b.getSkillsVersion(), index.epoch(), c));
+        return c;
+    }
+
+    private static Candidates lookup(Beneficiary b, SkillIndex index) {
+        Collector c = new Collector();
+        index.forEachCandidate(b.getSkillSet(), c);
+        return new Candidates(Arrays.copyOf(c.opportunities, c.size), Arrays.copyOf(c.overlaps, c.size));
+    }
+
+    private static final class Collector implements ObjIntConsumer<Opportunity> {
+        Opportunity[] opportunities = new Opportunity[64];
+        int[] overlaps = new int[64];
+        int size;
+
+        @Override public void accept(Opportunity o, int overlap) {
+            if (size == overlaps.length) { opportunities = Arrays.copyOf(opportunities, size * 2); overlaps = Arrays.copyOf(overlaps, size * 2); }
+            opportunities[size] = o; overlaps[size++] = overlap;
+        }
+    }
+
+    /** Drop one beneficiary's entry, e.g. when the row is deleted. */
+    public void invalidate(Beneficiary b) { entries.remove(b); }
+
+    /** Drop everything, e.g. after replacing the whole roster. */
+    public void clear() { entries.clear(); }
+
+    public int size() { return entries.size(); }
+    public int capacity() { return capacity; }
+    public long hits() { return hits; }
+    public long misses() { return misses; }
+    public long evictions() { return evictions; }
+    public double hitRatio() { long n = hits + misses; return n == 0 ? 0 : (double) hits / n; }
+
+    @Override public String toString() {
+        return String.format("%d/%d entries, %d hits, %d misses (%.0f%% hit), %d evictions", size(), capacity, hits, misses, hitRatio() * 100, evictions);
+    }
+}
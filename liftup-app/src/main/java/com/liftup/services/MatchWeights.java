@@ -0,0 +1,21 @@
+package com.liftup.services;
+
+/**
+ * Relative weights of the ranked-match score components: share of the opportunity's required skills the beneficiary
+ * has, payout relative to the best-paying candidate, and the beneficiary's household-size priority score.
+ * Only the ratios matter; the score is normalised to 0..1.
+ */
+public record MatchWeights(double overlap, double payout, double priority) {
+    public static final MatchWeights DEFAULT = new MatchWeights(0.6, 0.25, 0.15);
+
+    public MatchWeights {
+        if (overlap < 0 || payout < 0 || priority < 0) throw new IllegalArgumentException("weights must not be negative");
+    }
+
+    /** Each component is expected in 0..1. With every weight at zero, overlap alone decides. */
+    public double score(double overlapRatio, double payoutRatio, double priorityRatio) {
+        double total = overlap + payout + priority;
+        if (total == 0) return overlapRatio;
+        return (overlap * overlapRatio + payout * payoutRatio + priority * priorityRatio) / total;
+    }
+}
@@ -0,0 +1,186 @@
+package com.liftup.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+import com.liftup.models.SkillSet;
+import com.liftup.util.Metrics;
+
+public class MatchingService {
+    /** One ranked match; {@code rank} starts at 1 and {@code score} is in 0..1. */
+    public record Scored(int rank, Opportunity opportunity, int overlap, double score) {}
+
+    /** Worst first, so the head of a bounded heap is the entry to evict; ties go to the lower ID. */
+    private static final Comparator<Scored> WORST_FIRST = Comparator.comparingDouble(Scored::score)
+        .thenComparingInt(Scored::overlap)
+        .thenComparing(s -> s.opportunity().getId(), Comparator.nullsLast(Comparator.reverseOrder()));
+
+    /** Beneficiaries whose candidates {@link #rank} keeps; enough for a busy session of one-by-one matching. */
+    public static final int DEFAULT_CACHE_CAPACITY = 1024;
+
+    private final SkillIndex index = new SkillIndex();
+    private final MatchCache cache;
+
+    public MatchingService() { this(DEFAULT_CACHE_CAPACITY); }
+
+    /** {@code cacheCapacity} 0 turns the {@link MatchCache} off. */
+    public MatchingService(int cacheCapacity) { cache = new MatchCache(cacheCapacity); }
+
+    /** Live skill index over the opportunity catalogue; the owner keeps it in step with the list. */
+    public SkillIndex index() { return index; }
+
+    /** Candidates behind {@link #rank}; invalidated through the index and the beneficiaries' skill versions. */
+    public MatchCache cache() { return cache; }
+
+    public List<Opportunity> match(Beneficiary beneficiary, ArrayList<Opportunity> opportunities) {
+        try (Metrics.Sample m = Metrics.MATCH.start()) {
+            List<Opportunity> out = opportunities.stream()
+                .filter(opp -> isMatch(beneficiary, opp))
+                .toList();
+            m.records(out.size());
+            return out;
+        }
+    }
+
+    /** Indexed match: only opportunities sharing at least {@code minOverlap} skills (and at least one) are visited. */
+    public List<SkillIndex.Hit> match(Beneficiary beneficiary, int minOverlap) {
+        try (Metrics.Sample m = Metrics.MATCH.start()) {
+            List<SkillIndex.Hit> hits = index.candidates(beneficiary);
+            if (minOverlap > 1) hits.removeIf(h -> h.overlap() < minOverlap);
+            m.records(hits.size());
+            return hits;
+        }
+    }
+
+    /**
+     * Indexed match ranked by {@link MatchWeights}, best first, keeping at most {@code k}. Only candidates from the
+     * skill index are scored and the best {@code k} are kept in a bounded heap, so the cost follows the number of
+     * candidates and {@code log k} rather than a sort of everything that matched. Payout is scaled by the best payout
+     * among the candidates; priority is the beneficiary's score out of 100. Candidates come from the {@link #cache()}
+     * when nothing relevant changed since the last call for this beneficiary.
+     */
+    public List<Scored> rank(Beneficiary beneficiary, int minOverlap, int k, MatchWeights weights) {
+        if (k < 1) throw new IllegalArgumentException("k must be at least 1");
+        try (Metrics.Sample m = Metrics.MATCH.start()) {
+            MatchCache.Candidates c = cache.candidates(beneficiary, index);
+            int min = Math.max(1, minOverlap);
+            double maxPayout = 0;
+            for (int i = 0; i < c.size(); i++) if (c.overlaps[i] >= min) maxPayout = Math.max(maxPayout, c.opportunities[i].getPayout());
+            double priority = beneficiary.getScore() / 100.0;
+            PriorityQueue<Scored> heap = new PriorityQueue<>(Math.max(1, Math.min(k, c.size())), WORST_FIRST);
+            for (int i = 0; i < c.size(); i++) {
+                int overlap = c.overlaps[i];
+                if (overlap < min) continue;
+                Opportunity o = c.opportunities[i];
+                double ratio = (double) overlap / Math.max(1, o.getRequiredSkillSet().size());
+                double payout = maxPayout > 0 ? Math.max(0, o.getPayout()) / maxPayout : 0;
+                double score = weights.score(ratio, payout, priority);
+                // Only entries that make it into the heap are allocated
+                if (heap.size() == k) {
+                    Scored worst = heap.peek();
+                    if (score < worst.score() || score == worst.score() && WORST_FIRST.compare(new Scored(0, o, overlap, score), worst) <= 0) continue;
+                    heap.poll();
+                }
+                heap.add(new Scored(0, o, overlap, score));
+            }
+            Scored[] out = new Scored[heap.size()];
+            for (int r = out.length - 1; r >= 0; r--) {
+                Scored s = heap.poll();
+                out[r] = new Scored(r + 1, s.opportunity(), s.overlap(), s.score());
+            }
+            m.records(out.length);
+            return Arrays.asList(out);
+        }
+    }
+
+    /** All-pairs batch match on the common pool. */
+    public BatchMatchResult matchAll(List<Beneficiary> beneficiaries, List<Opportunity> opportunities, int minOverlap, int topK) {
+        return matchAll(beneficiaries, opportunities, minOverlap, topK, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Match every beneficiary against every opportunity, keeping the best {@code topK} by overlap per beneficiary.
+     * Works on private snapshots of both lists, so it is safe to run off the FX thread while the UI keeps editing.
+     */
+    public BatchMatchResult matchAll(List<Beneficiary> beneficiaries, List<Opportunity> opportunities, int minOverlap, int topK, ForkJoinPool pool) {
+        if (topK < 1) throw new IllegalArgumentException("topK must be at least 1");
+        try (Metrics.Sample m = Metrics.MATCH_ALL.start()) {
+            long start = System.nanoTime();
+            List<Beneficiary> bs = List.copyOf(beneficiaries);
+            List<Opportunity> os = List.copyOf(opportunities);
+            List<SkillSet> required = new ArrayList<>(os.size());
+            for (Opportunity o : os) required.add(o.getRequiredSkillSet());
+            SkillMatcher matcher = new SkillMatcher(required);
+            int n = bs.size();
+            int[] counts = new int[n];
+            int[] idx = new int[n * topK];
+            int[] ov = new int[n * topK];
+            pool.invoke(new MatchTask(bs, matcher, Math.max(1, minOverlap), topK, counts, idx, ov, 0, n));
+            m.records(n);
+            return new BatchMatchResult(bs, os, topK, counts, idx, ov, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Give each beneficiary at most one opportunity, and each opportunity at most its capacity, favouring high-priority
+     * households and close skill fits (see {@link AssignmentEngine}). Passing the {@code previous} result warm-starts
+     * the auction from it. Works on snapshots of both lists, so it is safe to run off the FX thread.
+     */
+    public AssignmentResult assign(List<Beneficiary> beneficiaries, List<Opportunity> opportunities, int minOverlap, AssignmentResult previous) {
+        try (Metrics.Sample m = Metrics.ASSIGN.start()) {
+            long start = System.nanoTime();
+            List<Beneficiary> bs = List.copyOf(beneficiaries);
+            List<Opportunity> os = List.copyOf(opportunities);
+            List<SkillSet> skills = new ArrayList<>(bs.size());
+            int[] scores = new int[bs.size()];
+            for (int b = 0; b < bs.size(); b++) { skills.add(bs.get(b).getSkillSet()); scores[b] = bs.get(b).getScore(); }
+            List<SkillSet> required = new ArrayList<>(os.size());
+            int[] capacities = new int[os.size()];
+            for (int o = 0; o < os.size(); o++) { required.add(os.get(o).getRequiredSkillSet()); capacities[o] = os.get(o).getCapacity(); }
+            AssignmentEngine.WarmStart warm = previous == null ? null : previous.warmStart(bs, os);
+            AssignmentEngine.Solution s = new AssignmentEngine(minOverlap, AssignmentEngine.DEFAULT_CHOICES).assign(skills, scores, required, capacities, warm);
+            m.records(bs.size());
+            return new AssignmentResult(bs, os, s, warm != null, System.nanoTime() - start);
+        }
+    }
+
+    /** Splits the beneficiary range until it is small enough to scan with one scanner. */
+    private static final class MatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int LEAF = 256;
+        private final List<Beneficiary> bs; private final SkillMatcher matcher;
+        private final int min; private final int k; private final int[] counts, idx, ov; private final int from, to;
+
+        MatchTask(List<Beneficiary> bs, SkillMatcher matcher, int min, int k, int[] counts, int[] idx, int[] ov, int from, int to) {
+            this.bs = bs; this.matcher = matcher; this.min = min; this.k = k;
+            this.counts = counts; this.idx = idx; this.ov = ov; this.from = from; this.to = to;
+        }
+
+        @Override protected void compute() {
+            if (to - from > LEAF) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new MatchTask(bs, matcher, min, k, counts, idx, ov, from, mid),
+                          new MatchTask(bs, matcher, min, k, counts, idx, ov, mid, to));
+                return;
+            }
+            SkillMatcher.Scanner scanner = matcher.scanner();
+            for (int b = from; b < to; b++) {
+                int n = scanner.scan(bs.get(b).getSkillSet(), min, k);
+                counts[b] = n;
+                for (int r = 0; r < n; r++) { idx[b * k + r] = scanner.opportunity(r); ov[b * k + r] = scanner.overlap(r); }
+            }
+        }
+    }
+
+    private boolean isMatch(Beneficiary beneficiary, Opportunity opportunity) {
+        // Basic matching logic - can be enhanced based on specific requirements
+        return beneficiary.getSkillSet().overlap(opportunity.getRequiredSkillSet()) > 0;
+    }
+}
@@ -0,0 +1,18 @@
+package com.liftup.services;
+
+import java.util.List;
+
+/** Random-access rows that are only materialized a window at a time (see {@code PagedList}). */
+public interface PageSource<T> {
+    int size();
+
+    /** Rows {@code [from, to)}, freshly materialized. */
+    List<T> fetch(int from, int to);
+
+    static <T> PageSource<T> empty() {
+        return new PageSource<>() {
+            @Override public int size() { return 0; }
+            @Override public List<T> fetch(int from, int to) { return List.of(); }
+        };
+    }
+}
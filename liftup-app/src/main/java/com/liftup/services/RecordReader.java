@@ -0,0 +1,179 @@
+package com.liftup.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.liftup.models.BeneficiaryRecord;
+import com.liftup.models.OpportunityRecord;
+
+/**
+ * Toolkit-free reader for the {@code data.json} layout: rows become immutable {@link BeneficiaryRecord} /
+ * {@link OpportunityRecord} values, so headless tools can read a snapshot without JavaFX on the class path.
+ * {@link SnapshotReader} wraps the same parser for the app's model objects.
+ */
+public final class RecordReader {
+
+    /** Receives records in file order; each batch list is fresh and may be kept by the sink. */
+    public interface Sink {
+        void beneficiaries(List<BeneficiaryRecord> batch);
+        void opportunities(List<OpportunityRecord> batch);
+    }
+
+    private RecordReader() {}
+
+    public static void read(Reader in, int batchSize, Sink sink) throws IOException {
+        int size = Math.max(1, batchSize);
+        JsonReader r = new JsonReader(in);
+        r.setLenient(true);
+        if (r.peek() == JsonToken.END_DOCUMENT) return;
+        r.beginObject();
+        while (r.hasNext()) {
+            String section = r.nextName();
+            if (r.peek() != JsonToken.BEGIN_ARRAY) { r.skipValue(); continue; }
+            switch (section) {
+                case "beneficiaries" -> {
+                    List<BeneficiaryRecord> batch = new ArrayList<>(size);
+                    r.beginArray();
+                    while (r.hasNext()) {
+                        BeneficiaryRecord b = readBeneficiary(r);
+                        if (b != null) batch.add(b);
+                        if (batch.size() == size) { sink.beneficiaries(batch); batch = new ArrayList<>(size); }
+                    }
+                    r.endArray();
+                    if (!batch.isEmpty()) sink.beneficiaries(batch);
+                }
+                case "opportunities" -> {
+                    List<OpportunityRecord> batch = new ArrayList<>(size);
+                    r.beginArray();
+                    while (r.hasNext()) {
+                        OpportunityRecord o = readOpportunity(r);
+                        if (o != null) batch.add(o);
+                        if (batch.size() == size) { sink.opportunities(batch); batch = new ArrayList<>(size); }
+                    }
+                    r.endArray();
+                    if (!batch.isEmpty()) sink.opportunities(batch);
+                }
+                default -> r.skipValue();
+            }
+        }
+        r.endObject();
+    }
+
+    /** Whether {@code dir} holds committed change journal records that a snapshot read from it would be missing. */
+    public static boolean hasJournal(Path dir) {
+        Path log = dir.resolve(ChangeJournal.FILE_NAME);
+        return Files.exists(log) || Files.exists(log.resolveSibling(ChangeJournal.FILE_NAME + ChangeJournal.COMPACTING_SUFFIX));
+    }
+
+    /**
+     * Apply the committed {@link ChangeJournal} records in {@code dir} to records keyed by ID, in the order the app
+     * replays them (leftover compaction file first, then the live log). Returns the number applied; unreadable lines
+     * are skipped with a warning, as a torn last line is expected after a crash.
+     */
+    public static int replayJournal(Path dir, Map<String, BeneficiaryRecord> beneficiaries, Map<String, OpportunityRecord> opportunities) throws IOException {
+        Path log = dir.resolve(ChangeJournal.FILE_NAME);
+        return replayFile(log.resolveSibling(ChangeJournal.FILE_NAME + ChangeJournal.COMPACTING_SUFFIX), beneficiaries, opportunities)
+            + replayFile(log, beneficiaries, opportunities);
+    }
+
+    private static int replayFile(Path file, Map<String, BeneficiaryRecord> beneficiaries, Map<String, OpportunityRecord> opportunities) throws IOException {
+        if (!Files.exists(file)) return 0;
+        int applied = 0;
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) continue;
+                try { if (apply(line, beneficiaries, opportunities)) applied++; }
+                catch (Exception e) { System.err.println("Skipping unreadable journal record: " + e.getMessage()); }
+            }
+        }
+        return applied;
+    }
+
+    private static boolean apply(String line, Map<String, BeneficiaryRecord> beneficiaries, Map<String, OpportunityRecord> opportunities) throws IOException {
+        JsonReader r = new JsonReader(new StringReader(line));
+        String op = null;
+        boolean applied = false;
+        r.beginObject();
+        while (r.hasNext()) {
+            String name = r.nextName();
+            if ("op".equals(name)) op = r.nextString();
+            else if ("v".equals(name) && ChangeJournal.PUT_BENEFICIARY.equals(op)) { BeneficiaryRecord b = readBeneficiary(r); if (b != null) { beneficiaries.put(b.id(), b); applied = true; } }
+            else if ("v".equals(name) && ChangeJournal.PUT_OPPORTUNITY.equals(op)) { OpportunityRecord o = readOpportunity(r); if (o != null) { opportunities.put(o.id(), o); applied = true; } }
+            else if ("id".equals(name) && ChangeJournal.REMOVE_BENEFICIARY.equals(op)) { beneficiaries.remove(r.nextString()); applied = true; }
+            else if ("id".equals(name) && ChangeJournal.REMOVE_OPPORTUNITY.equals(op)) { opportunities.remove(r.nextString()); applied = true; }
+            else r.skipValue();
+        }
+        r.endObject();
+        return applied;
+    }
+
+    static BeneficiaryRecord readBeneficiary(JsonReader r) throws IOException {
+        if (r.peek() != JsonToken.BEGIN_OBJECT) { r.skipValue(); return null; }
+        String id = "", name = ""; int household = 0; List<String> skills = List.of();
+        r.beginObject();
+        while (r.hasNext()) {
+            switch (r.nextName()) {
+                case "id" -> id = string(r);
+                case "name" -> name = string(r);
+                case "householdSize" -> household = (int) number(r);
+                case "skills" -> skills = strings(r);
+                default -> r.skipValue();
+            }
+        }
+        r.endObject();
+        return BeneficiaryRecord.of(id, name, household, skills);
+    }
+
+    static OpportunityRecord readOpportunity(JsonReader r) throws IOException {
+        if (r.peek() != JsonToken.BEGIN_OBJECT) { r.skipValue(); return null; }
+        String id = "", title = ""; double payout = 0, capacity = 1; List<String> skills = List.of();
+        r.beginObject();
+        while (r.hasNext()) {
+            switch (r.nextName()) {
+                case "id" -> id = string(r);
+                case "title" -> title = string(r);
+                case "payout" -> payout = number(r);
+                case "capacity" -> capacity = number(r);
+                case "requiredSkills" -> skills = strings(r);
+                default -> r.skipValue();
+            }
+        }
+        r.endObject();
+        return OpportunityRecord.of(id, title, skills, payout, (int) capacity);
+    }
+
+    private static String string(JsonReader r) throws IOException {
+        if (r.peek() == JsonToken.NULL) { r.nextNull(); return ""; }
+        return r.nextString();
+    }
+
+    /** Older saves wrote whole numbers as doubles ("householdSize": 3.0), so every number is read as a double. */
+    private static double number(JsonReader r) throws IOException {
+        JsonToken t = r.peek();
+        if (t == JsonToken.NUMBER || t == JsonToken.STRING) return r.nextDouble();
+        r.skipValue();
+        return 0;
+    }
+
+    private static List<String> strings(JsonReader r) throws IOException {
+        if (r.peek() != JsonToken.BEGIN_ARRAY) { r.skipValue(); return List.of(); }
+        List<String> out = new ArrayList<>(4);
+        r.beginArray();
+        while (r.hasNext()) {
+            if (r.peek() == JsonToken.STRING) out.add(r.nextString()); else r.skipValue();
+        }
+        r.endArray();
+        return out;
+    }
+}
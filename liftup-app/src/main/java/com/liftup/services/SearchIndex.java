@@ -0,0 +1,199 @@
+package com.liftup.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import javafx.collections.ListChangeListener;
+
+/**
+ * Substring search over one list of rows (names, titles and skills), maintained from the list's change events.
+ * <p>
+ * Each row gets an int doc id and its search text is lowercased once. Every distinct character trigram of the text
+ * has an ascending posting list of doc ids, so a query term of three or more characters intersects a few postings
+ * and only verifies the survivors with {@code contains}; shorter terms fall back to scanning the precomputed text.
+ * Postings live in a fixed hash table addressed by the trigram's hash with no key check: a collision only adds
+ * candidates, which verification removes, and it saves boxing a key per trigram.
+ * Doc ids are never reused: removed rows become tombstones and the index is rebuilt once they outnumber live rows.
+ * <p>
+ * Mutations come from the FX thread; {@link #search} may run on any thread and takes the read lock.
+ */
+public class SearchIndex<T> {
+    private final Function<T, String> text;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<T, Integer> ids = new IdentityHashMap<>();
+    private final List<T> docs = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private static final int BUCKETS = 1 << 18;
+    private final Postings[] postings = new Postings[BUCKETS];
+    private int dead;
+
+    /** @param text the searchable text of a row, e.g. name plus skills */
+    public SearchIndex(Function<T, String> text) { this.text = text; }
+
+    /** Growable ascending int list. */
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) return;
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+    }
+
+    /** Matches of one query; {@link #contains} is a bit test plus an identity lookup. */
+    public final class Hits {
+        private final BitSet bits;
+        private final int count;
+        Hits(BitSet bits) { this.bits = bits; this.count = bits.cardinality(); }
+        public int size() { return count; }
+        /** Call from the FX thread (where the index is mutated). */
+        public boolean contains(T row) { Integer id = ids.get(row); return id != null && bits.get(id); }
+        /** Up to {@code limit} matching rows in insertion order. */
+        public List<T> first(int limit) {
+            List<T> out = new ArrayList<>(Math.min(limit, count));
+            lock.readLock().lock();
+            try {
+                for (int i = bits.nextSetBit(0); i >= 0 && out.size() < limit; i = bits.nextSetBit(i + 1)) {
+                    T row = i < docs.size() ? docs.get(i) : null;
+                    if (row != null) out.add(row);
+                }
+            } finally { lock.readLock().unlock(); }
+            return out;
+        }
+    }
+
+    public void onChanged(ListChangeListener.Change<? extends T> c) {
+        lock.writeLock().lock();
+        try {
+            while (c.next()) {
+                if (c.wasPermutated()) continue;
+                if (c.wasUpdated()) { for (int i = c.getFrom(); i < c.getTo(); i++) { T row = c.getList().get(i); remove(row); add(row); } continue; }
+                for (T row : c.getRemoved()) remove(row);
+                addAll(c.getAddedSubList());
+            }
+            if (dead > 4096 && dead > ids.size()) rebuild();
+        } finally { lock.writeLock().unlock(); }
+    }
+
+    /** Re-read one row's text after an edit that was not published as a list change. */
+    public void updated(T row) {
+        lock.writeLock().lock();
+        try { if (remove(row)) add(row); } finally { lock.writeLock().unlock(); }
+    }
+
+    public void reset(List<? extends T> rows) {
+        lock.writeLock().lock();
+        try {
+            ids.clear(); docs.clear(); texts.clear(); Arrays.fill(postings, null); dead = 0;
+            addAll(rows);
+        } finally { lock.writeLock().unlock(); }
+    }
+
+    public int size() { return ids.size(); }
+
+    /**
+     * Rows whose text contains every whitespace-separated term of {@code query} (case-insensitive).
+     * A blank query matches nothing; callers treat it as "no filter".
+     */
+    public Hits search(String query) {
+        String[] terms = query == null ? new String[0] : query.toLowerCase(Locale.ROOT).trim().split("\\s+");
+        lock.readLock().lock();
+        try {
+            BitSet out = new BitSet(docs.size());
+            if (terms.length == 0 || terms[0].isEmpty()) return new Hits(out);
+            // Candidates from the indexed (>= 3 char) terms; shorter terms are checked during verification
+            int[] candidates = null;
+            for (String term : terms) {
+                if (term.length() < 3) continue;
+                for (int i = 0; i + 3 <= term.length(); i++) {
+                    Postings p = postings[bucket(term, i)];
+                    if (p == null) return new Hits(out);
+                    candidates = candidates == null ? Arrays.copyOf(p.ids, p.size) : intersect(candidates, p);
+                    if (candidates.length == 0) return new Hits(out);
+                }
+            }
+            if (candidates == null) {
+                for (int id = 0; id < texts.size(); id++) if (matches(texts.get(id), terms)) out.set(id);
+            } else {
+                for (int id : candidates) if (matches(texts.get(id), terms)) out.set(id);
+            }
+            return new Hits(out);
+        } finally { lock.readLock().unlock(); }
+    }
+
+    private static boolean matches(String s, String[] terms) {
+        if (s == null) return false;
+        for (String t : terms) if (!s.contains(t)) return false;
+        return true;
+    }
+
+    private static int[] intersect(int[] a, Postings p) {
+        int[] out = new int[Math.min(a.length, p.size)];
+        int n = 0, i = 0, j = 0;
+        while (i < a.length && j < p.size) {
+            if (a[i] < p.ids[j]) i++;
+            else if (a[i] > p.ids[j]) j++;
+            else { out[n++] = a[i]; i++; j++; }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    // --- Maintenance (write lock held) ---
+
+    /** Large batches (bulk loads, imports) compute the lowercased texts in parallel first. */
+    private void addAll(List<? extends T> rows) {
+        if (rows.size() < 10_000) { for (T row : rows) add(row); return; }
+        List<String> lowered = rows.parallelStream().map(this::lowered).toList();
+        for (int i = 0; i < rows.size(); i++) add(rows.get(i), lowered.get(i));
+    }
+
+    private String lowered(T row) { return text.apply(row).toLowerCase(Locale.ROOT); }
+
+    private void add(T row) { add(row, lowered(row)); }
+
+    private void add(T row, String s) {
+        if (ids.containsKey(row)) return;
+        int id = docs.size();
+        ids.put(row, id);
+        docs.add(row);
+        texts.add(s);
+        // Ids only grow, so each posting list stays sorted; Postings.add skips a repeat trigram within the same row
+        for (int i = 0; i + 3 <= s.length(); i++) {
+            int b = bucket(s, i);
+            Postings p = postings[b];
+            if (p == null) postings[b] = p = new Postings();
+            p.add(id);
+        }
+    }
+
+    private boolean remove(T row) {
+        Integer id = ids.remove(row);
+        if (id == null) return false;
+        docs.set(id, null);
+        texts.set(id, null);
+        dead++;
+        return true;
+    }
+
+    private void rebuild() {
+        List<T> live = new ArrayList<>(ids.size());
+        for (T row : docs) if (row != null) live.add(row);
+        ids.clear(); docs.clear(); texts.clear(); Arrays.fill(postings, null); dead = 0;
+        addAll(live);
+    }
+
+    private static int bucket(String s, int i) {
+        int h = (s.charAt(i) * 31 + s.charAt(i + 1)) * 31 + s.charAt(i + 2);
+        h *= 0x9E3779B9;
+        return h >>> (32 - 18);
+    }
+}
@@ -0,0 +1,38 @@
+package com.liftup.services;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.InstanceCreator;
+import java.io.*;
+
+public class SettingsService {
+    private String theme = "light"; // or "dark"
+    private double fontScale = 1.0;
+    private String snapshotFormat = "json"; // or "binary"
+    private double matchOverlapWeight = MatchWeights.DEFAULT.overlap();
+    private double matchPayoutWeight = MatchWeights.DEFAULT.payout();
+    private double matchPriorityWeight = MatchWeights.DEFAULT.priority();
+    private int matchTopK = 25;
+
+    public String getTheme(){ return theme; }
+    public void setTheme(String t){ theme = t; }
+    public double getFontScale(){ return fontScale; }
+    public void setFontScale(double s){ fontScale = s; }
+    public String getSnapshotFormat(){ return snapshotFormat; }
+    public void setSnapshotFormat(String f){ snapshotFormat = f; }
+    public MatchWeights getMatchWeights(){ return new MatchWeights(matchOverlapWeight, matchPayoutWeight, matchPriorityWeight); }
+    public void setMatchWeights(MatchWeights w){ matchOverlapWeight = w.overlap(); matchPayoutWeight = w.payout(); matchPriorityWeight = w.priority(); }
+    public int getMatchTopK(){ return matchTopK; }
+    public void setMatchTopK(int k){ matchTopK = Math.max(1, k); }
+
+    public void save(){ try(FileWriter w = new FileWriter(prefsFile())){ new Gson().toJson(this, w);} catch(Exception ignored){} }
+    /** Reads the saved prefs into this instance, so keys missing from older files keep their defaults. */
+    public SettingsService(){
+        try(FileReader r = new FileReader(prefsFile())){ new GsonBuilder().registerTypeAdapter(SettingsService.class, (InstanceCreator<SettingsService>) t -> this).create().fromJson(r, SettingsService.class); } catch(Exception ignored){}
+        if(theme==null) theme="light";
+        if(snapshotFormat==null) snapshotFormat="json";
+        if(matchOverlapWeight<0 || matchPayoutWeight<0 || matchPriorityWeight<0) setMatchWeights(MatchWeights.DEFAULT);
+        if(matchTopK<1) matchTopK=25;
+    }
+    private File prefsFile(){ File dir = new File(System.getProperty("user.home"), ".liftup"); if(!dir.exists()) dir.mkdirs(); return new File(dir, "prefs.json"); }
+}
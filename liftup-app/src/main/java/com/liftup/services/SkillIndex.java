@@ -0,0 +1,124 @@
+package com.liftup.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+import com.liftup.models.SkillSet;
+
+/**
+ * Inverted index from skill ID (see {@link com.liftup.models.SkillDictionary}) to the opportunities requiring it.
+ * Kept in step with the opportunity list (add / remove / reindex after an edit) so a
+ * beneficiary lookup only touches postings that share at least one skill.
+ * Every change stamps the skills it touches with a new epoch, so a cached lookup can tell whether it is still
+ * current (see {@link #changedSince}).
+ * Not thread-safe: mutate and query from the FX thread.
+ */
+public class SkillIndex {
+
+    /** A candidate opportunity and the number of distinct skills it shares with the beneficiary. */
+    public record Hit(Opportunity opportunity, int overlap) {}
+
+    /** One indexed opportunity; {@code hits} is scratch for {@link #forEachCandidate} and is zero between calls. */
+    private static final class Entry {
+        final Opportunity opportunity; final SkillSet skills; int hits;
+        Entry(Opportunity opportunity, SkillSet skills){ this.opportunity = opportunity; this.skills = skills; }
+    }
+
+    private final List<Set<Entry>> postings = new ArrayList<>();
+    private final Map<Opportunity, Entry> indexed = new IdentityHashMap<>();
+    private final List<Entry> touched = new ArrayList<>();
+    private long epoch, clearedAt;
+    private long[] skillEpoch = new long[64];
+
+    public void add(Opportunity o){
+        if(indexed.containsKey(o)) return;
+        Entry e = new Entry(o, o.getRequiredSkillSet());
+        indexed.put(o, e);
+        stamp(e.skills);
+        for(int i = 0; i < e.skills.size(); i++){
+            int id = e.skills.id(i);
+            while(postings.size() <= id) postings.add(null);
+            Set<Entry> p = postings.get(id);
+            if(p == null) postings.set(id, p = new LinkedHashSet<>());
+            p.add(e);
+        }
+    }
+
+    public void remove(Opportunity o){
+        Entry e = indexed.remove(o);
+        if(e == null) return;
+        stamp(e.skills);
+        for(int i = 0; i < e.skills.size(); i++){
+            Set<Entry> p = posting(e.skills.id(i));
+            if(p == null) continue;
+            p.remove(e);
+            if(p.isEmpty()) postings.set(e.skills.id(i), null);
+        }
+    }
+
+    /** Re-read the required skills of an opportunity that was edited in place. */
+    public void reindex(Opportunity o){ remove(o); add(o); }
+
+    public void addAll(List<? extends Opportunity> list){ for(Opportunity o: list) add(o); }
+
+    public void clear(){ postings.clear(); indexed.clear(); clearedAt = ++epoch; }
+
+    /** Advances on every change; a lookup made at epoch {@code e} is current until {@link #changedSince} says otherwise. */
+    public long epoch(){ return epoch; }
+
+    /** True if an opportunity sharing a skill with {@code skills} was added, removed or re-indexed after epoch {@code since}. */
+    public boolean changedSince(SkillSet skills, long since){
+        if(clearedAt > since) return true;
+        for(int i = 0; i < skills.size(); i++){
+            int id = skills.id(i);
+            if(id < skillEpoch.length && skillEpoch[id] > since) return true;
+        }
+        return false;
+    }
+
+    public int size(){ return indexed.size(); }
+
+    /** Opportunities sharing at least one skill with the beneficiary, with their overlap counts, in one pass over the postings. */
+    public List<Hit> candidates(Beneficiary b){
+        List<Hit> out = new ArrayList<>();
+        forEachCandidate(b.getSkillSet(), (o, overlap) -> out.add(new Hit(o, overlap)));
+        return out;
+    }
+
+    /**
+     * Visit every opportunity sharing at least one skill with {@code skills}, in first-seen order, with its overlap.
+     * Counts go straight into the indexed entries, so there is no per-candidate hashing or allocation.
+     */
+    public void forEachCandidate(SkillSet skills, ObjIntConsumer<Opportunity> visitor){
+        for(int i = 0; i < skills.size(); i++){
+            Set<Entry> p = posting(skills.id(i));
+            if(p == null) continue;
+            for(Entry e: p) if(e.hits++ == 0) touched.add(e);
+        }
+        try{
+            for(Entry e: touched) visitor.accept(e.opportunity, e.hits);
+        } finally {
+            for(Entry e: touched) e.hits = 0;
+            touched.clear();
+        }
+    }
+
+    private void stamp(SkillSet skills){
+        epoch++;
+        for(int i = 0; i < skills.size(); i++){
+            int id = skills.id(i);
+            if(id >= skillEpoch.length) skillEpoch = Arrays.copyOf(skillEpoch, Math.max(id + 1, skillEpoch.length * 2));
+            skillEpoch[id] = epoch;
+        }
+    }
+
+    private Set<Entry> posting(int id){ return id < postings.size() ? postings.get(id) : null; }
+}
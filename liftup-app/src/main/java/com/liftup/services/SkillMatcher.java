@@ -0,0 +1,151 @@
+package com.liftup.services;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.liftup.models.SkillDictionary;
+import com.liftup.models.SkillSet;
+
+/**
+ * Toolkit-free matching core over plain {@link SkillSet}s: an inverted skill -> opportunity position table, and
+ * per-thread {@link Scanner}s that count overlaps for one beneficiary at a time. Immutable once built, so one matcher
+ * can be shared by any number of threads, each with its own scanner.
+ */
+public final class SkillMatcher {
+    private final int opportunities;
+    private final int[][] postings;
+
+    public SkillMatcher(List<SkillSet> opportunitySkills) {
+        opportunities = opportunitySkills.size();
+        postings = buildPostings(opportunitySkills);
+    }
+
+    public int opportunityCount() { return opportunities; }
+
+    /** A scanner with its own scratch arrays; not thread-safe. */
+    public Scanner scanner() { return new Scanner(); }
+
+    /** Skill ID -> ascending opportunity positions, as a flat array indexed by ID. */
+    private static int[][] buildPostings(List<SkillSet> os) {
+        int[] sizes = new int[SkillDictionary.global().size()];
+        for (SkillSet s : os) for (int i = 0; i < s.size(); i++) sizes[s.id(i)]++;
+        int[][] out = new int[sizes.length][];
+        for (int id = 0; id < sizes.length; id++) out[id] = new int[sizes[id]];
+        int[] fill = new int[sizes.length];
+        for (int pos = 0; pos < os.size(); pos++) {
+            SkillSet s = os.get(pos);
+            for (int i = 0; i < s.size(); i++) { int id = s.id(i); out[id][fill[id]++] = pos; }
+        }
+        return out;
+    }
+
+    /** Matches for one beneficiary at a time; results stay valid until the next {@link #scan}. */
+    public final class Scanner {
+        private final int[] hits = new int[opportunities];
+        private final int[] touched = new int[opportunities];
+        private int[] idx = new int[16], ov = new int[16];
+        // Bounded min-heap for capped scans, and sort keys for uncapped ones
+        private int[] heapIdx = new int[16], heapOv = new int[16];
+        private long[] keys = new long[16];
+        private int size;
+
+        private Scanner() {}
+
+        /**
+         * Opportunities sharing at least {@code minOverlap} (and at least one) skills with {@code skills}, best first:
+         * higher overlap, then earlier position. {@code limit} caps the count (0 keeps every match); a cap is applied
+         * with a bounded heap, so top-k over a large catalogue never sorts the full candidate list.
+         */
+        public int scan(SkillSet skills, int minOverlap, int limit) {
+            int min = Math.max(1, minOverlap), t = count(skills);
+            size = 0;
+            if (limit > 0) {
+                if (heapIdx.length < limit) { heapIdx = new int[limit]; heapOv = new int[limit]; }
+                for (int i = 0; i < t; i++) {
+                    int o = touched[i], c = hits[o];
+                    hits[o] = 0;
+                    if (c < min) continue;
+                    if (size < limit) { heapIdx[size] = o; heapOv[size] = c; siftUp(size++); }
+                    else if (better(c, o, heapOv[0], heapIdx[0])) { heapIdx[0] = o; heapOv[0] = c; siftDown(size); }
+                }
+                // Drain the min-heap from the back so the row ends up best-first
+                ensure(size);
+                for (int r = size - 1; r >= 0; r--) {
+                    idx[r] = heapIdx[0]; ov[r] = heapOv[0];
+                    heapIdx[0] = heapIdx[r]; heapOv[0] = heapOv[r];
+                    siftDown(r);
+                }
+                return size;
+            }
+            if (keys.length < t) keys = new long[Math.max(t, keys.length * 2)];
+            for (int i = 0; i < t; i++) {
+                int o = touched[i], c = hits[o];
+                hits[o] = 0;
+                // Ascending key order is overlap descending, then position ascending
+                if (c >= min) keys[size++] = ((long) (Integer.MAX_VALUE - c) << 32) | o;
+            }
+            Arrays.sort(keys, 0, size);
+            ensure(size);
+            for (int i = 0; i < size; i++) { idx[i] = (int) keys[i]; ov[i] = Integer.MAX_VALUE - (int) (keys[i] >>> 32); }
+            return size;
+        }
+
+        /** Like {@link #scan} without a limit, but in no particular order, for callers that rank by something else. */
+        public int collect(SkillSet skills, int minOverlap) {
+            int min = Math.max(1, minOverlap), t = count(skills);
+            size = 0;
+            ensure(t);
+            for (int i = 0; i < t; i++) {
+                int o = touched[i], c = hits[o];
+                hits[o] = 0;
+                if (c >= min) { idx[size] = o; ov[size++] = c; }
+            }
+            return size;
+        }
+
+        public int size() { return size; }
+        /** Opportunity position of the {@code rank}-th match. */
+        public int opportunity(int rank) { return idx[rank]; }
+        public int overlap(int rank) { return ov[rank]; }
+
+        /** Overlap counts into {@code hits}; returns how many opportunities were touched. */
+        private int count(SkillSet skills) {
+            int t = 0;
+            for (int s = 0; s < skills.size(); s++) {
+                int id = skills.id(s);
+                if (id >= postings.length) continue;
+                for (int o : postings[id]) { if (hits[o]++ == 0) touched[t++] = o; }
+            }
+            return t;
+        }
+
+        private void ensure(int n) { if (idx.length < n) { idx = Arrays.copyOf(idx, n); ov = Arrays.copyOf(ov, n); } }
+
+        /** Higher overlap wins; ties go to the earlier opportunity so results are deterministic. */
+        private boolean better(int ovA, int idxA, int ovB, int idxB) { return ovA != ovB ? ovA > ovB : idxA < idxB; }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int p = (i - 1) >>> 1;
+                if (!better(heapOv[p], heapIdx[p], heapOv[i], heapIdx[i])) break;
+                swap(i, p); i = p;
+            }
+        }
+
+        private void siftDown(int n) {
+            int i = 0;
+            while (true) {
+                int l = 2 * i + 1, r = l + 1, w = i;
+                if (l < n && better(heapOv[w], heapIdx[w], heapOv[l], heapIdx[l])) w = l;
+                if (r < n && better(heapOv[w], heapIdx[w], heapOv[r], heapIdx[r])) w = r;
+                if (w == i) return;
+                swap(i, w); i = w;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int x = heapIdx[a]; heapIdx[a] = heapIdx[b]; heapIdx[b] = x;
+            x = heapOv[a]; heapOv[a] = heapOv[b]; heapOv[b] = x;
+        }
+    }
+}
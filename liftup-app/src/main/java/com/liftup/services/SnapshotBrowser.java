@@ -0,0 +1,180 @@
+package com.liftup.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.BeneficiaryRecord;
+import com.liftup.models.Opportunity;
+
+/**
+ * Read-only, query-able view of a saved {@link BinarySnapshot} for paged tables.
+ * Filtering and sorting are pushed down to the mapped columns: a query scans only the columns it needs and yields
+ * an int[] of row numbers, and rows become model objects only when a page of them is fetched.
+ * Queries scan the whole snapshot, so run them off the FX thread.
+ * <p>
+ * {@link #close} waits for queries and page fetches in flight, then unmaps the snapshot. Later queries throw, page
+ * sources from before fetch empty (null) rows, and the close listeners are told, so a view can fall back.
+ */
+public final class SnapshotBrowser implements AutoCloseable {
+    public enum BeneficiaryKey { NAME, HOUSEHOLD, SCORE, SKILLS }
+    public enum OpportunityKey { TITLE, SKILLS, PAYOUT, CAPACITY }
+
+    private final BinarySnapshot snap;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+    private boolean closed;
+
+    public SnapshotBrowser(BinarySnapshot snap) { this.snap = snap; }
+
+    /** Called once, on the closing thread, after the snapshot is released. */
+    public void addCloseListener(Runnable r) { closeListeners.add(r); }
+
+    public boolean isClosed() { lock.readLock().lock(); try { return closed; } finally { lock.readLock().unlock(); } }
+
+    @Override public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) return;
+            closed = true;
+            snap.close();
+        } finally { lock.writeLock().unlock(); }
+        for (Runnable r : closeListeners) r.run();
+    }
+
+    public int beneficiaryCount() { return snap.beneficiaryCount(); }
+    public int opportunityCount() { return snap.opportunityCount(); }
+
+    /**
+     * Beneficiaries whose name or skills contain every term of {@code filter} (blank for all), ordered by {@code key}
+     * ({@code null} for file order).
+     */
+    public PageSource<Beneficiary> beneficiaries(String filter, BeneficiaryKey key, boolean ascending) {
+        lock.readLock().lock();
+        try {
+            requireOpen();
+            return queryBeneficiaries(filter, key, ascending);
+        } finally { lock.readLock().unlock(); }
+    }
+
+    private PageSource<Beneficiary> queryBeneficiaries(String filter, BeneficiaryKey key, boolean ascending) {
+        int n = snap.beneficiaryCount();
+        String[] terms = terms(filter);
+        int[] rows = terms.length == 0 ? null : select(n, i -> matches(snap.beneficiaryName(i) + "\n" + String.join(", ", snap.beneficiarySkills(i)), terms));
+        if (key != null) {
+            int[] r = rows != null ? rows : identity(n);
+            rows = switch (key) {
+                case NAME -> sortByString(r, i -> snap.beneficiaryName(i), ascending);
+                case SKILLS -> sortByString(r, i -> String.join(", ", snap.beneficiarySkills(i)), ascending);
+                case HOUSEHOLD -> sortByNumber(r, snap::householdSize, ascending);
+                case SCORE -> sortByNumber(r, i -> BeneficiaryRecord.score(snap.householdSize(i)), ascending);
+            };
+        }
+        return rows(rows, n, snap::beneficiary);
+    }
+
+    /** Opportunities whose title or required skills contain every term of {@code filter}, ordered by {@code key}. */
+    public PageSource<Opportunity> opportunities(String filter, OpportunityKey key, boolean ascending) {
+        lock.readLock().lock();
+        try {
+            requireOpen();
+            return queryOpportunities(filter, key, ascending);
+        } finally { lock.readLock().unlock(); }
+    }
+
+    private PageSource<Opportunity> queryOpportunities(String filter, OpportunityKey key, boolean ascending) {
+        int n = snap.opportunityCount();
+        String[] terms = terms(filter);
+        int[] rows = terms.length == 0 ? null : select(n, i -> matches(snap.opportunityTitle(i) + "\n" + String.join(", ", snap.opportunitySkills(i)), terms));
+        if (key != null) {
+            int[] r = rows != null ? rows : identity(n);
+            rows = switch (key) {
+                case TITLE -> sortByString(r, i -> snap.opportunityTitle(i), ascending);
+                case SKILLS -> sortByString(r, i -> String.join(", ", snap.opportunitySkills(i)), ascending);
+                case PAYOUT -> sortByNumber(r, snap::payout, ascending);
+                case CAPACITY -> sortByNumber(r, snap::capacity, ascending);
+            };
+        }
+        return rows(rows, n, snap::opportunity);
+    }
+
+    private interface DoubleColumn { double get(int row); }
+
+    private void requireOpen() { if (closed) throw new IllegalStateException("Saved data was closed or replaced"); }
+
+    private static String[] terms(String filter) {
+        if (filter == null || filter.isBlank()) return new String[0];
+        return filter.toLowerCase(Locale.ROOT).trim().split("\\s+");
+    }
+
+    private static boolean matches(String text, String[] terms) {
+        String s = text.toLowerCase(Locale.ROOT);
+        for (String t : terms) if (!s.contains(t)) return false;
+        return true;
+    }
+
+    private static int[] select(int n, IntPredicate match) {
+        int[] out = new int[Math.min(n, 1024)];
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            if (!match.test(i)) continue;
+            if (m == out.length) out = Arrays.copyOf(out, Math.min(n, out.length * 2));
+            out[m++] = i;
+        }
+        return Arrays.copyOf(out, m);
+    }
+
+    private static int[] identity(int n) {
+        int[] r = new int[n];
+        for (int i = 0; i < n; i++) r[i] = i;
+        return r;
+    }
+
+    /** Decode each key once, then a stable parallel sort of positions; ties keep file order. */
+    private static int[] sortByString(int[] rows, IntFunction<String> column, boolean ascending) {
+        String[] keys = new String[rows.length];
+        for (int i = 0; i < rows.length; i++) keys[i] = column.apply(rows[i]);
+        Comparator<Integer> cmp = (a, b) -> keys[a].compareTo(keys[b]);
+        return reorder(rows, ascending ? cmp : cmp.reversed());
+    }
+
+    private static int[] sortByNumber(int[] rows, DoubleColumn column, boolean ascending) {
+        double[] keys = new double[rows.length];
+        for (int i = 0; i < rows.length; i++) keys[i] = column.get(rows[i]);
+        Comparator<Integer> cmp = (a, b) -> Double.compare(keys[a], keys[b]);
+        return reorder(rows, ascending ? cmp : cmp.reversed());
+    }
+
+    private static int[] reorder(int[] rows, Comparator<Integer> byPosition) {
+        Integer[] pos = new Integer[rows.length];
+        for (int i = 0; i < pos.length; i++) pos[i] = i;
+        Arrays.parallelSort(pos, byPosition);
+        int[] out = new int[rows.length];
+        for (int i = 0; i < out.length; i++) out[i] = rows[pos[i]];
+        return out;
+    }
+
+    /** {@code rows == null} means every row in file order, without allocating the identity array. */
+    private <T> PageSource<T> rows(int[] rows, int n, IntFunction<T> materialize) {
+        return new PageSource<>() {
+            @Override public int size() { return rows == null ? n : rows.length; }
+            @Override public List<T> fetch(int from, int to) {
+                lock.readLock().lock();
+                try {
+                    if (closed) return Collections.nCopies(to - from, null);
+                    List<T> out = new ArrayList<>(to - from);
+                    for (int i = from; i < to; i++) out.add(materialize.apply(rows == null ? i : rows[i]));
+                    return out;
+                } finally { lock.readLock().unlock(); }
+            }
+        };
+    }
+}
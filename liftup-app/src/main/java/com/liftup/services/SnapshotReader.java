@@ -0,0 +1,54 @@
+package com.liftup.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.stream.JsonReader;
+import com.liftup.models.Beneficiary;
+import com.liftup.models.BeneficiaryRecord;
+import com.liftup.models.Opportunity;
+import com.liftup.models.OpportunityRecord;
+
+/**
+ * Single-pass reader for the {@code data.json} layout built on Gson's {@link JsonReader}.
+ * Both sections are read straight into model objects, in whatever order they appear, and handed to a
+ * {@link Sink} in batches, so there is no intermediate map, re-serialized string or full DTO list.
+ * Parsing is {@link RecordReader}'s; this class only wraps each record in its UI row.
+ */
+public final class SnapshotReader {
+
+    /** Receives records in file order; each batch list is fresh and may be kept by the sink. */
+    public interface Sink {
+        void beneficiaries(List<Beneficiary> batch);
+        void opportunities(List<Opportunity> batch);
+    }
+
+    private SnapshotReader() {}
+
+    public static void read(Reader in, int batchSize, Sink sink) throws IOException {
+        RecordReader.read(in, batchSize, new RecordReader.Sink() {
+            @Override public void beneficiaries(List<BeneficiaryRecord> batch) {
+                List<Beneficiary> rows = new ArrayList<>(batch.size());
+                for (BeneficiaryRecord b : batch) rows.add(new Beneficiary(b));
+                sink.beneficiaries(rows);
+            }
+            @Override public void opportunities(List<OpportunityRecord> batch) {
+                List<Opportunity> rows = new ArrayList<>(batch.size());
+                for (OpportunityRecord o : batch) rows.add(new Opportunity(o));
+                sink.opportunities(rows);
+            }
+        });
+    }
+
+    static Beneficiary readBeneficiary(JsonReader r) throws IOException {
+        BeneficiaryRecord b = RecordReader.readBeneficiary(r);
+        return b == null ? null : new Beneficiary(b);
+    }
+
+    static Opportunity readOpportunity(JsonReader r) throws IOException {
+        OpportunityRecord o = RecordReader.readOpportunity(r);
+        return o == null ? null : new Opportunity(o);
+    }
+}
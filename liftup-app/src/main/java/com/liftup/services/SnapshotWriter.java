@@ -0,0 +1,66 @@
+package com.liftup.services;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import com.google.gson.stream.JsonWriter;
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+
+/** Streaming counterpart of {@link SnapshotReader}: writes the {@code data.json} layout record by record. */
+public final class SnapshotWriter {
+
+    private SnapshotWriter() {}
+
+    public static void write(Writer out, Iterable<Beneficiary> beneficiaries, Iterable<Opportunity> opportunities) throws IOException {
+        JsonWriter w = new JsonWriter(out);
+        w.setIndent("  ");
+        w.beginObject();
+        w.name("beneficiaries").beginArray();
+        for (Beneficiary b : beneficiaries) writeBeneficiary(w, b);
+        w.endArray();
+        w.name("opportunities").beginArray();
+        for (Opportunity o : opportunities) writeOpportunity(w, o);
+        w.endArray();
+        w.endObject();
+        w.flush();
+    }
+
+    static void writeBeneficiary(JsonWriter w, Beneficiary b) throws IOException {
+        w.beginObject();
+        w.name("id").value(b.getId());
+        w.name("name").value(b.getName());
+        w.name("householdSize").value(b.getHouseholdSize());
+        w.name("skills").beginArray();
+        for (String s : b.getSkills()) w.value(s);
+        w.endArray();
+        w.endObject();
+    }
+
+    static void writeOpportunity(JsonWriter w, Opportunity o) throws IOException {
+        w.beginObject();
+        w.name("id").value(o.getId());
+        w.name("title").value(o.getTitle());
+        w.name("requiredSkills").beginArray();
+        for (String s : o.getRequiredSkills()) w.value(s);
+        w.endArray();
+        w.name("payout").value(o.getPayout());
+        w.name("capacity").value(o.getCapacity());
+        w.endObject();
+    }
+
+    /** One compact JSON line, used for journal records. */
+    static String line(String op, Beneficiary b, Opportunity o, String removedId) throws IOException {
+        StringWriter sw = new StringWriter(128);
+        JsonWriter w = new JsonWriter(sw);
+        w.beginObject();
+        w.name("op").value(op);
+        if (b != null) { w.name("v"); writeBeneficiary(w, b); }
+        if (o != null) { w.name("v"); writeOpportunity(w, o); }
+        if (removedId != null) w.name("id").value(removedId);
+        w.endObject();
+        w.flush();
+        return sw.toString();
+    }
+}
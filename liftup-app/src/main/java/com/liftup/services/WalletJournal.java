@@ -0,0 +1,342 @@
+package com.liftup.services;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Durable, append-only wallet history under {@code ~/.liftup/wallet}.
+ * <p>
+ * Entries go to numbered segments ({@code wallet-000001.log}), one JSON line each. A single writer thread
+ * drains everything queued since its last write and appends it with one fsync (group commit), then completes
+ * the callers' futures, so many concurrent transfers share the cost of one flush.
+ * <p>
+ * Segments are never deleted; they are the audit trail. When a segment fills up the writer starts a new one and
+ * a checkpointer folds the closed segments into {@code checkpoint.json} (balances and the last sequence number as
+ * of the end of segment N), so {@link #open} only replays the segments after the checkpoint and sequence numbers
+ * carry on from where they stopped. Entries record already-validated movements,
+ * so replay just applies deltas and order between unrelated accounts does not matter.
+ */
+public class WalletJournal implements AutoCloseable {
+    static final String CREDIT = "C", DEBIT = "D", TRANSFER = "T", BATCH = "B";
+    private static final long SEGMENT_BYTES = 8L << 20;
+    private static final int MAX_BATCH = 4096;
+
+    /** One committed movement, as read back for audits; each leg of a batch is reported with the batch's sequence number. */
+    public record Entry(long seq, long timeMillis, String op, String from, String to, long minor) {}
+
+    private record Pending(String op, String from, String to, long minor, String[] legTo, long[] legMinor, CompletableFuture<Long> done) {}
+    private static final Pending STOP = new Pending(null, null, null, 0, null, null, null);
+
+    private final Path dir;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final ExecutorService checkpointer = Executors.newSingleThreadExecutor(r -> { Thread t = new Thread(r, "liftup-wallet-checkpoint"); t.setDaemon(true); return t; });
+    /** Balances as of the end of {@link #checkpointSegment}; owned by the checkpointer thread after open. */
+    private final Map<String, Long> checkpoint;
+    private int checkpointSegment;
+    private long checkpointSeq;
+    private final Map<String, Long> recovered;
+
+    private FileChannel channel;
+    private int segment;
+    private long segmentSize, seq;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    private WalletJournal(Path dir) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+        checkpoint = new HashMap<>();
+        Mark mark = readCheckpoint(dir.resolve("checkpoint.json").toFile(), checkpoint);
+        checkpointSegment = mark.segment();
+        // Checkpoints written before the sequence number was stored: it is the last one in the checkpointed segments
+        checkpointSeq = mark.seq() >= 0 ? mark.seq() : lastSeq(dir, checkpointSegment);
+        seq = checkpointSeq;
+        recovered = new HashMap<>(checkpoint);
+        int last = checkpointSegment;
+        for (int s : segments(dir)) {
+            if (s <= checkpointSegment) continue;
+            seq = Math.max(seq, replay(segmentFile(s), recovered));
+            last = s;
+        }
+        // Always append to a fresh segment: a torn tail in the previous one stays where it is and is skipped on replay
+        segment = last + 1;
+        channel = openSegment(segment);
+        writer = new Thread(this::writeLoop, "liftup-wallet-journal");
+        writer.setDaemon(true);
+        writer.start();
+        if (last > checkpointSegment) { int upTo = last; checkpointer.execute(() -> checkpoint(upTo)); }
+    }
+
+    /** Open (or create) the journal in {@code dir}; {@link #balances()} then holds the recovered state. */
+    public static WalletJournal open(Path dir) throws IOException { return new WalletJournal(dir); }
+
+    public static Path defaultDir() { return Path.of(System.getProperty("user.home"), ".liftup", "wallet"); }
+
+    /** Balances recovered at open time (checkpoint plus replayed tail), in minor units. */
+    public Map<String, Long> balances() { return recovered; }
+
+    /** Queue one movement; the future completes with its sequence number once it is on disk. */
+    public CompletableFuture<Long> append(String op, String from, String to, long minor) {
+        return enqueue(new Pending(op, from, to, minor, null, null, new CompletableFuture<>()));
+    }
+
+    /** Queue a batch payout as a single line, so replay sees all of its legs or none of them. */
+    public CompletableFuture<Long> appendBatch(String from, String[] toIds, long[] minor) {
+        return enqueue(new Pending(BATCH, from, null, 0, toIds, minor, new CompletableFuture<>()));
+    }
+
+    private CompletableFuture<Long> enqueue(Pending p) {
+        IOException f = failure;
+        if (f != null) p.done().completeExceptionally(f);
+        else if (closed) p.done().completeExceptionally(new IOException("Wallet journal is closed"));
+        else queue.add(p);
+        return p.done();
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) { return; }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            boolean stop = batch.remove(STOP);
+            if (!batch.isEmpty()) write(batch);
+            batch.clear();
+            if (stop) return;
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        if (failure != null) { for (Pending p : batch) p.done().completeExceptionally(failure); return; }
+        long first = seq + 1, now = System.currentTimeMillis();
+        try {
+            StringBuilder sb = new StringBuilder(batch.size() * 96);
+            long s = seq;
+            for (Pending p : batch) sb.append(line(++s, now, p)).append('\n');
+            ByteBuffer buf = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            segmentSize += buf.remaining();
+            while (buf.hasRemaining()) channel.write(buf);
+            channel.force(false);
+            seq = s;
+        } catch (IOException e) {
+            // Fail-stop: later appends are refused rather than silently dropped
+            failure = e;
+            for (Pending p : batch) p.done().completeExceptionally(e);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) batch.get(i).done().complete(first + i);
+        if (segmentSize >= SEGMENT_BYTES) roll();
+    }
+
+    /** Close the current segment and start the next one; the closed one is checkpointed in the background. */
+    private void roll() {
+        int closedSegment = segment;
+        try {
+            channel.close();
+            channel = openSegment(++segment);
+            segmentSize = 0;
+        } catch (IOException e) { failure = e; return; }
+        checkpointer.execute(() -> checkpoint(closedSegment));
+    }
+
+    private void checkpoint(int upTo) {
+        try {
+            for (int s = checkpointSegment + 1; s <= upTo; s++) checkpointSeq = Math.max(checkpointSeq, replay(segmentFile(s), checkpoint));
+            checkpointSegment = upTo;
+            long upToSeq = checkpointSeq;
+            DataStore.atomicWrite(dir.resolve("checkpoint.json").toFile(), w -> {
+                JsonWriter j = new JsonWriter(w);
+                j.beginObject().name("segment").value(upTo).name("seq").value(upToSeq).name("balances").beginObject();
+                for (Map.Entry<String, Long> e : checkpoint.entrySet()) j.name(e.getKey()).value(e.getValue());
+                j.endObject().endObject();
+                j.flush();
+            });
+        } catch (IOException e) { System.err.println("Wallet checkpoint failed: " + e.getMessage()); }
+    }
+
+    /** Flush queued entries, then checkpoint everything so the next start replays nothing. */
+    @Override public void close() {
+        if (closed) return;
+        closed = true;
+        queue.add(STOP);
+        try { writer.join(10_000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        for (Pending p; (p = queue.poll()) != null; ) if (p != STOP) p.done().completeExceptionally(new IOException("Wallet journal is closed"));
+        int last = segment;
+        try { channel.close(); } catch (IOException ignored) {}
+        if (segmentSize > 0) checkpointer.execute(() -> checkpoint(last));
+        else try { Files.deleteIfExists(segmentFile(last)); } catch (IOException ignored) {}
+        checkpointer.shutdown();
+        try { checkpointer.awaitTermination(10, TimeUnit.SECONDS); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
+
+    /** Every committed entry, oldest first, across all segments. */
+    public static List<Entry> history(Path dir) throws IOException {
+        List<Entry> out = new ArrayList<>();
+        for (int s : segments(dir)) read(dir.resolve(segmentName(s)), out::add);
+        return out;
+    }
+
+    // --- Encoding and replay ---
+
+    private static String line(long seq, long time, Pending p) throws IOException {
+        StringWriter sw = new StringWriter(p.legTo() == null ? 96 : 32 + p.legTo().length * 48);
+        JsonWriter w = new JsonWriter(sw);
+        w.beginObject().name("seq").value(seq).name("t").value(time).name("op").value(p.op());
+        if (p.from() != null) w.name("from").value(p.from());
+        if (p.to() != null) w.name("to").value(p.to());
+        if (p.legTo() != null) {
+            w.name("legs").beginArray();
+            for (int i = 0; i < p.legTo().length; i++) w.beginObject().name("to").value(p.legTo()[i]).name("amt").value(p.legMinor()[i]).endObject();
+            w.endArray();
+        } else w.name("amt").value(p.minor());
+        w.endObject();
+        w.flush();
+        return sw.toString();
+    }
+
+    /** Apply a segment's entries to {@code balances}; returns the highest sequence number seen. */
+    private static long replay(Path file, Map<String, Long> balances) throws IOException {
+        long[] max = { 0 };
+        read(file, e -> {
+            if (e.from() != null) balances.merge(e.from(), -e.minor(), Long::sum);
+            if (e.to() != null) balances.merge(e.to(), e.minor(), Long::sum);
+            max[0] = Math.max(max[0], e.seq());
+        });
+        return max[0];
+    }
+
+    private interface EntrySink { void accept(Entry e); }
+
+    private static void read(Path file, EntrySink sink) throws IOException {
+        if (!Files.exists(file)) return;
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) continue;
+                try { parse(line, sink); }
+                // Only the last line of a segment can be torn by a crash mid-append; everything before it was fsynced
+                catch (Exception e) { System.err.println("Skipping unreadable wallet journal record: " + e.getMessage()); }
+            }
+        }
+    }
+
+    /** A line is parsed completely before anything is emitted, so a torn batch contributes no legs. */
+    private static void parse(String line, EntrySink sink) throws IOException {
+        JsonReader r = new JsonReader(new StringReader(line));
+        long seq = 0, time = 0, minor = 0; String op = null, from = null, to = null;
+        List<String> legTo = null; List<Long> legMinor = null;
+        r.beginObject();
+        while (r.hasNext()) {
+            switch (r.nextName()) {
+                case "seq" -> seq = r.nextLong();
+                case "t" -> time = r.nextLong();
+                case "op" -> op = r.nextString();
+                case "from" -> from = r.nextString();
+                case "to" -> to = r.nextString();
+                case "amt" -> minor = r.nextLong();
+                case "legs" -> {
+                    legTo = new ArrayList<>(); legMinor = new ArrayList<>();
+                    r.beginArray();
+                    while (r.hasNext()) {
+                        String legId = null; long legAmt = 0;
+                        r.beginObject();
+                        while (r.hasNext()) {
+                            switch (r.nextName()) {
+                                case "to" -> legId = r.nextString();
+                                case "amt" -> legAmt = r.nextLong();
+                                default -> r.skipValue();
+                            }
+                        }
+                        r.endObject();
+                        if (legId == null) throw new IOException("batch leg without recipient");
+                        legTo.add(legId); legMinor.add(legAmt);
+                    }
+                    r.endArray();
+                }
+                default -> r.skipValue();
+            }
+        }
+        r.endObject();
+        if (op == null) throw new IOException("record without op");
+        if (legTo == null) { sink.accept(new Entry(seq, time, op, from, to, minor)); return; }
+        for (int i = 0; i < legTo.size(); i++) sink.accept(new Entry(seq, time, op, from, legTo.get(i), legMinor.get(i)));
+    }
+
+    /** Where a checkpoint ends: its last segment and sequence number ({@code -1} if the file does not record it). */
+    private record Mark(int segment, long seq) {}
+
+    private static Mark readCheckpoint(File f, Map<String, Long> into) throws IOException {
+        if (!f.exists()) return new Mark(0, 0);
+        int segment = 0;
+        long seq = -1;
+        try (JsonReader r = new JsonReader(Files.newBufferedReader(f.toPath(), StandardCharsets.UTF_8))) {
+            r.beginObject();
+            while (r.hasNext()) {
+                switch (r.nextName()) {
+                    case "segment" -> segment = r.nextInt();
+                    case "seq" -> seq = r.nextLong();
+                    case "balances" -> { r.beginObject(); while (r.hasNext()) into.put(r.nextName(), r.nextLong()); r.endObject(); }
+                    default -> r.skipValue();
+                }
+            }
+            r.endObject();
+        }
+        return new Mark(segment, seq);
+    }
+
+    /** Highest sequence number in segments up to {@code upTo}; the newest non-empty one holds it. */
+    private static long lastSeq(Path dir, int upTo) throws IOException {
+        List<Integer> all = segments(dir);
+        for (int i = all.size() - 1; i >= 0; i--) {
+            if (all.get(i) > upTo) continue;
+            long[] max = { 0 };
+            read(dir.resolve(segmentName(all.get(i))), e -> max[0] = Math.max(max[0], e.seq()));
+            if (max[0] > 0) return max[0];
+        }
+        return 0;
+    }
+
+    private static List<Integer> segments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                .filter(n -> n.matches("wallet-\\d+\\.log"))
+                .map(n -> Integer.parseInt(n.substring(7, n.length() - 4)))
+                .sorted().toList();
+        }
+    }
+
+    private static String segmentName(int s) { return String.format("wallet-%06d.log", s); }
+
+    private Path segmentFile(int s) { return dir.resolve(segmentName(s)); }
+
+    private FileChannel openSegment(int s) throws IOException {
+        segmentSize = 0;
+        return FileChannel.open(segmentFile(s), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
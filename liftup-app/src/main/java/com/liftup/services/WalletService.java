@@ -0,0 +1,128 @@
+package com.liftup.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.liftup.util.Metrics;
+
+/**
+ * Demo wallet. Amounts in the {@code double} API are MYR and are rounded to the sen before they reach the
+ * {@link Ledger}, which keeps exact minor-unit balances and is safe to call from any thread.
+ * A durable wallet also records every movement in a {@link WalletJournal}. The entry is written while the
+ * accounts involved are still locked and the balances change only once it is on disk, so no thread can see or spend
+ * money the journal does not have; if the write fails, nothing changes and the call throws.
+ */
+public class WalletService implements AutoCloseable {
+    private final Ledger ledger = new Ledger();
+    private final WalletJournal journal;
+
+    /** In-memory wallet; balances are lost on exit. */
+    public WalletService() { this.journal = null; }
+
+    private WalletService(WalletJournal journal) {
+        this.journal = journal;
+        ledger.restore(journal.balances());
+    }
+
+    /** Wallet backed by the journal in {@code dir}, with balances recovered from it. */
+    public static WalletService open(Path dir) throws IOException { return new WalletService(WalletJournal.open(dir)); }
+
+    public static WalletService durable() throws IOException { return open(WalletJournal.defaultDir()); }
+
+    public void credit(String beneficiaryId, double amount) {
+        long minor = Ledger.toMinor(amount);
+        ledger.credit(beneficiaryId, minor, durably(WalletJournal.CREDIT, null, beneficiaryId, minor));
+    }
+
+    public void debit(String beneficiaryId, double amount) {
+        long minor = Ledger.toMinor(amount);
+        ledger.debit(beneficiaryId, minor, durably(WalletJournal.DEBIT, beneficiaryId, null, minor));
+    }
+
+    public double getBalance(String beneficiaryId) {
+        return Ledger.toMajor(ledger.balance(beneficiaryId));
+    }
+
+    public long getBalanceMinor(String beneficiaryId) {
+        return ledger.balance(beneficiaryId);
+    }
+
+    public String transfer(String fromId, String toId, double amount) {
+        long minor = Ledger.toMinor(amount);
+        if (transferMinor(fromId, toId, minor)) {
+            return String.format("Transferred %s MYR from %s to %s", Ledger.format(minor), fromId, toId);
+        }
+        return "Insufficient funds";
+    }
+
+    /** Minor-unit transfer for callers that already hold exact amounts; false on insufficient funds. */
+    public boolean transferMinor(String fromId, String toId, long minor) {
+        try (Metrics.Sample m = Metrics.TRANSFER.start()) {
+            if (!ledger.transfer(fromId, toId, minor, durably(WalletJournal.TRANSFER, fromId, toId, minor))) { Metrics.count("wallet.insufficientFunds", 1); return false; }
+            m.records(1);
+            return true;
+        }
+    }
+
+    /** One payout in a batch, in minor units. */
+    public record Leg(String beneficiaryId, long minor) {
+        public static Leg of(String beneficiaryId, double amount) { return new Leg(beneficiaryId, Ledger.toMinor(amount)); }
+    }
+
+    /** Outcome of {@link #transferBatch}; nothing was moved unless {@code applied}. */
+    public record BatchSummary(boolean applied, int legs, long totalMinor, long donorBalanceMinor, long elapsedNanos) {
+        @Override public String toString() {
+            return applied
+                ? String.format("Paid %s MYR to %d beneficiaries; donor balance now %s MYR", Ledger.format(totalMinor), legs, Ledger.format(donorBalanceMinor))
+                : String.format("Insufficient funds: %d payouts need %s MYR, donor has %s MYR", legs, Ledger.format(totalMinor), Ledger.format(donorBalanceMinor));
+        }
+    }
+
+    /**
+     * Pay every leg from one donor as a single all-or-nothing operation: the total is checked once, the legs are
+     * applied under one acquisition of the locks involved, and the journal gets one entry for the whole batch.
+     */
+    public BatchSummary transferBatch(String donorId, List<Leg> legs) {
+        try (Metrics.Sample m = Metrics.TRANSFER_BATCH.start()) {
+            BatchSummary summary = applyBatch(donorId, legs);
+            if (summary.applied()) m.records(summary.legs()); else Metrics.count("wallet.insufficientFunds", 1);
+            return summary;
+        }
+    }
+
+    private BatchSummary applyBatch(String donorId, List<Leg> legs) {
+        long start = System.nanoTime();
+        String[] to = new String[legs.size()];
+        long[] minor = new long[legs.size()];
+        long total = 0;
+        for (int i = 0; i < to.length; i++) {
+            Leg leg = legs.get(i);
+            if (leg.minor() <= 0) throw new IllegalArgumentException("Payout to " + leg.beneficiaryId() + " must be positive");
+            to[i] = leg.beneficiaryId(); minor[i] = leg.minor();
+            total = Math.addExact(total, minor[i]);
+        }
+        Runnable commit = journal == null ? null : () -> await(journal.appendBatch(donorId, to, minor));
+        boolean applied = to.length > 0 && ledger.transferBatch(donorId, to, minor, commit);
+        return new BatchSummary(applied, to.length, total, ledger.balance(donorId), System.nanoTime() - start);
+    }
+
+    /** Ledger commit hook that writes the journal entry and waits for it; null when there is nothing to record. */
+    private Runnable durably(String op, String from, String to, long minor) {
+        if (journal == null || minor == 0) return null;
+        return () -> await(journal.append(op, from, to, minor));
+    }
+
+    private static void await(CompletableFuture<Long> written) {
+        try {
+            written.join();
+        } catch (CompletionException e) {
+            throw new UncheckedIOException("Wallet journal write failed", e.getCause() instanceof IOException io ? io : new IOException(e.getCause()));
+        }
+    }
+
+    @Override public void close() { if (journal != null) journal.close(); }
+}
@@ -0,0 +1,106 @@
+package com.liftup.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Allocation-lean CSV row writer: fields are copied into one reusable char buffer, quoted only when they
+ * contain a comma, quote or line break, and integers are formatted in place. Not thread-safe.
+ */
+public class CsvWriter {
+    private static final String EOL = System.lineSeparator();
+
+    private final Writer out;
+    private final char[] buf;
+    private int pos;
+    private boolean rowStarted;
+
+    public CsvWriter(Writer out) { this(out, 1 << 16); }
+
+    public CsvWriter(Writer out, int bufferSize) { this.out = out; this.buf = new char[Math.max(64, bufferSize)]; }
+
+    public CsvWriter field(String s) throws IOException {
+        separator();
+        if (s == null || s.isEmpty()) return this;
+        if (needsQuotes(s)) { put('"'); quoted(s); put('"'); }
+        else plain(s);
+        return this;
+    }
+
+    public CsvWriter field(long v) throws IOException {
+        separator();
+        if (v == Long.MIN_VALUE) { plain(Long.toString(v)); return this; }
+        if (v < 0) { put('-'); v = -v; }
+        if (pos + 20 > buf.length) flushBuffer();
+        int start = pos;
+        do { buf[pos++] = (char) ('0' + (v % 10)); v /= 10; } while (v != 0);
+        for (int i = start, j = pos - 1; i < j; i++, j--) { char c = buf[i]; buf[i] = buf[j]; buf[j] = c; }
+        return this;
+    }
+
+    public CsvWriter field(double v) throws IOException {
+        if (v == Math.rint(v) && Math.abs(v) < 1e15) { field((long) v); put('.'); put('0'); return this; }
+        separator();
+        plain(Double.toString(v));
+        return this;
+    }
+
+    /** One field holding several values joined by {@code sep}, without building the joined String. */
+    public CsvWriter joined(List<String> parts, String sep) throws IOException {
+        separator();
+        boolean quote = needsQuotes(sep);
+        for (int i = 0; i < parts.size() && !quote; i++) quote = needsQuotes(parts.get(i));
+        if (quote) put('"');
+        for (int i = 0; i < parts.size(); i++) {
+            if (i > 0) { if (quote) quoted(sep); else plain(sep); }
+            if (quote) quoted(parts.get(i)); else plain(parts.get(i));
+        }
+        if (quote) put('"');
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        plain(EOL);
+        rowStarted = false;
+    }
+
+    public void flush() throws IOException { flushBuffer(); out.flush(); }
+
+    private void separator() throws IOException { if (rowStarted) put(','); rowStarted = true; }
+
+    private static boolean needsQuotes(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+
+    private void plain(String s) throws IOException {
+        int i = 0, n = s.length();
+        while (i < n) {
+            if (pos == buf.length) flushBuffer();
+            int len = Math.min(n - i, buf.length - pos);
+            s.getChars(i, i + len, buf, pos);
+            pos += len; i += len;
+        }
+    }
+
+    private void quoted(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"') put('"');
+            put(c);
+        }
+    }
+
+    private void put(char c) throws IOException {
+        if (pos == buf.length) flushBuffer();
+        buf[pos++] = c;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos > 0) { out.write(buf, 0, pos); pos = 0; }
+    }
+}
@@ -0,0 +1,50 @@
+package com.liftup.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+import com.liftup.services.SearchIndex;
+
+/**
+ * Debounced, off-thread queries against a {@link SearchIndex}: typing restarts a short pause, the query runs on a
+ * background thread once typing stops, and only the newest query's result is delivered (on the FX thread).
+ * A blank query delivers {@code null}, meaning "no filter".
+ */
+public class DebouncedSearch<T> {
+    private static final ExecutorService EXEC = Executors.newSingleThreadExecutor(r -> { Thread t = new Thread(r, "liftup-search"); t.setDaemon(true); return t; });
+
+    private final SearchIndex<T> index;
+    private final Consumer<SearchIndex<T>.Hits> onResult;
+    private final PauseTransition pause;
+    private String query = "";
+    private long generation;
+
+    public DebouncedSearch(SearchIndex<T> index, Duration delay, Consumer<SearchIndex<T>.Hits> onResult) {
+        this.index = index; this.onResult = onResult;
+        this.pause = new PauseTransition(delay);
+        pause.setOnFinished(e -> run());
+    }
+
+    public void query(String q) {
+        query = q == null ? "" : q;
+        pause.playFromStart();
+    }
+
+    /** Re-run the current query, e.g. after the list changed; no-op while the query is blank. */
+    public void refresh() { if (!query.isBlank()) pause.playFromStart(); }
+
+    private void run() {
+        long gen = ++generation;
+        String q = query;
+        if (q.isBlank()) { onResult.accept(null); return; }
+        EXEC.execute(() -> {
+            SearchIndex<T>.Hits hits = index.search(q);
+            Platform.runLater(() -> { if (gen == generation) onResult.accept(hits); });
+        });
+    }
+}
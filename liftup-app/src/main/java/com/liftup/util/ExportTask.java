@@ -0,0 +1,45 @@
+package com.liftup.util;
+
+import java.io.File;
+import java.util.List;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+import com.liftup.services.AssignmentResult;
+
+import javafx.concurrent.Task;
+
+/**
+ * Cancellable background CSV export over a snapshot of a table's rows.
+ * Progress is reported as rows written out of the snapshot size; cancelling removes the partial file.
+ */
+public class ExportTask extends Task<File> {
+    private final List<Beneficiary> beneficiaries;
+    private final List<Opportunity> opportunities;
+    private final AssignmentResult assignment;
+    private final boolean gzip;
+
+    private ExportTask(List<Beneficiary> beneficiaries, List<Opportunity> opportunities, AssignmentResult assignment, boolean gzip) {
+        this.beneficiaries = beneficiaries; this.opportunities = opportunities; this.assignment = assignment; this.gzip = gzip;
+    }
+
+    /** The list is copied by reference here, so call this on the FX thread. */
+    public static ExportTask beneficiaries(List<Beneficiary> rows, boolean gzip) { return new ExportTask(List.copyOf(rows), null, null, gzip); }
+    public static ExportTask opportunities(List<Opportunity> rows, boolean gzip) { return new ExportTask(null, List.copyOf(rows), null, gzip); }
+    /** Who got which place; the result already holds its own copies of the rows. */
+    public static ExportTask assignment(AssignmentResult result, boolean gzip) { return new ExportTask(null, null, result, gzip); }
+
+    @Override protected File call() throws Exception {
+        long total = beneficiaries != null ? beneficiaries.size() : opportunities != null ? opportunities.size() : assignment.beneficiaryCount();
+        updateProgress(0, total);
+        Exporter.Progress progress = rows -> {
+            updateProgress(rows, total);
+            updateMessage("Exported " + rows + " of " + total + " rows");
+            return !isCancelled();
+        };
+        if (assignment != null) return Exporter.exportAssignment(assignment, gzip, progress);
+        return beneficiaries != null
+            ? Exporter.exportBeneficiaries(beneficiaries.iterator(), gzip, progress)
+            : Exporter.exportOpportunities(opportunities.iterator(), gzip, progress);
+    }
+}
@@ -0,0 +1,150 @@
+package com.liftup.util;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+import com.liftup.services.AssignmentResult;
+
+public class Exporter {
+
+    private static final String EXPORT_DIR =
+            System.getProperty("user.home") + File.separator + "LiftUp" + File.separator + "exports";
+
+    static final String BENEFICIARY_HEADER = "id,name,householdSize,skills";
+    static final String OPPORTUNITY_HEADER = "id,title,requiredSkills,payout,capacity";
+    /** Opportunity exports from before capacities; still accepted by {@link Importer}. */
+    static final String OPPORTUNITY_HEADER_V1 = "id,title,requiredSkills,payout";
+    static final String ASSIGNMENT_HEADER = "beneficiaryId,beneficiaryName,householdSize,opportunityId,opportunityTitle,payout";
+    static final String SKILL_SEPARATOR = "; ";
+
+    /** Rows between progress callbacks / cancellation checks. */
+    private static final int PROGRESS_EVERY = 4096;
+
+    /** Progress callback for streaming exports; return false to cancel. */
+    public interface Progress {
+        boolean rowsWritten(long rows);
+        Progress NONE = rows -> true;
+    }
+
+    private static File ensureDir() {
+        File d = new File(EXPORT_DIR);
+        if (!d.exists()) d.mkdirs();
+        return d;
+    }
+
+    public static String exportBeneficiariesCSV(List<Beneficiary> list) throws IOException {
+        return exportBeneficiaries(list.iterator(), false, Progress.NONE).getAbsolutePath();
+    }
+
+    public static String exportOpportunitiesCSV(List<Opportunity> list) throws IOException {
+        return exportOpportunities(list.iterator(), false, Progress.NONE).getAbsolutePath();
+    }
+
+    /** Stream beneficiaries to {@code beneficiaries.csv[.gz]} in the export folder. */
+    public static File exportBeneficiaries(Iterator<Beneficiary> rows, boolean gzip, Progress progress) throws IOException {
+        return export("beneficiaries", gzip, out -> writeBeneficiaries(rows, out, progress));
+    }
+
+    /** Stream opportunities to {@code opportunities.csv[.gz]} in the export folder. */
+    public static File exportOpportunities(Iterator<Opportunity> rows, boolean gzip, Progress progress) throws IOException {
+        return export("opportunities", gzip, out -> writeOpportunities(rows, out, progress));
+    }
+
+    /** Stream a place assignment to {@code assignment.csv[.gz]}: one row per beneficiary, opportunity fields empty if unplaced. */
+    public static File exportAssignment(AssignmentResult result, boolean gzip, Progress progress) throws IOException {
+        return export("assignment", gzip, out -> writeAssignment(result, out, progress));
+    }
+
+    public static long writeAssignment(AssignmentResult result, Writer out, Progress progress) throws IOException {
+        try (Metrics.Sample m = Metrics.EXPORT.start()) { long n = assignment(result, out, progress); m.records(n); return n; }
+    }
+
+    private static long assignment(AssignmentResult result, Writer out, Progress progress) throws IOException {
+        out.write(ASSIGNMENT_HEADER + System.lineSeparator());
+        CsvWriter w = new CsvWriter(out);
+        long n = 0;
+        for (int row = 0; row < result.beneficiaryCount(); row++) {
+            Beneficiary b = result.beneficiary(row);
+            Opportunity o = result.opportunity(row);
+            w.field(b.getId()).field(b.getName()).field(b.getHouseholdSize());
+            if (o == null) w.field("").field("").field("");
+            else w.field(o.getId()).field(o.getTitle()).field(o.getPayout());
+            w.endRow();
+            if (++n % PROGRESS_EVERY == 0 && !progress.rowsWritten(n)) throw new InterruptedIOException("Export cancelled");
+        }
+        w.flush();
+        progress.rowsWritten(n);
+        return n;
+    }
+
+    public static long writeBeneficiaries(Iterator<Beneficiary> rows, Writer out, Progress progress) throws IOException {
+        try (Metrics.Sample m = Metrics.EXPORT.start()) { long n = beneficiaries(rows, out, progress); m.records(n); return n; }
+    }
+
+    private static long beneficiaries(Iterator<Beneficiary> rows, Writer out, Progress progress) throws IOException {
+        out.write(BENEFICIARY_HEADER + System.lineSeparator());
+        CsvWriter w = new CsvWriter(out);
+        long n = 0;
+        while (rows.hasNext()) {
+            Beneficiary b = rows.next();
+            w.field(b.getId()).field(b.getName()).field(b.getHouseholdSize())
+             .joined(b.getSkills(), SKILL_SEPARATOR).endRow();
+            if (++n % PROGRESS_EVERY == 0 && !progress.rowsWritten(n)) throw new InterruptedIOException("Export cancelled");
+        }
+        w.flush();
+        progress.rowsWritten(n);
+        return n;
+    }
+
+    public static long writeOpportunities(Iterator<Opportunity> rows, Writer out, Progress progress) throws IOException {
+        try (Metrics.Sample m = Metrics.EXPORT.start()) { long n = opportunities(rows, out, progress); m.records(n); return n; }
+    }
+
+    private static long opportunities(Iterator<Opportunity> rows, Writer out, Progress progress) throws IOException {
+        out.write(OPPORTUNITY_HEADER + System.lineSeparator());
+        CsvWriter w = new CsvWriter(out);
+        long n = 0;
+        while (rows.hasNext()) {
+            Opportunity o = rows.next();
+            w.field(o.getId()).field(o.getTitle())
+             .joined(o.getRequiredSkills(), SKILL_SEPARATOR).field(o.getPayout()).field(o.getCapacity()).endRow();
+            if (++n % PROGRESS_EVERY == 0 && !progress.rowsWritten(n)) throw new InterruptedIOException("Export cancelled");
+        }
+        w.flush();
+        progress.rowsWritten(n);
+        return n;
+    }
+
+    private interface Body { void write(Writer out) throws IOException; }
+
+    /** Write to a temp file and move it into place, so a cancelled or failed export never leaves a partial CSV. */
+    private static File export(String name, boolean gzip, Body body) throws IOException {
+        File dir = ensureDir();
+        File target = new File(dir, name + (gzip ? ".csv.gz" : ".csv"));
+        File tmp = new File(dir, target.getName() + ".part");
+        try (OutputStream raw = new BufferedOutputStream(new FileOutputStream(tmp), 1 << 16);
+             OutputStream os = gzip ? new GZIPOutputStream(raw, 1 << 16) : raw;
+             Writer w = new OutputStreamWriter(os, StandardCharsets.UTF_8)) {
+            body.write(w);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp.toPath());
+            throw e;
+        }
+        Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return target;
+    }
+}
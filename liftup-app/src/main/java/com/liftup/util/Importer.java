@@ -0,0 +1,326 @@
+package com.liftup.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPInputStream;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.liftup.models.Beneficiary;
+import com.liftup.models.BeneficiaryRecord;
+import com.liftup.models.Opportunity;
+import com.liftup.models.OpportunityRecord;
+import com.liftup.services.RecordReader;
+
+/**
+ * Bulk importer for the {@link Exporter} CSV layout, newline-delimited JSON (one beneficiary or opportunity object per
+ * line, {@code .ndjson} or {@code .jsonl}) and the app's own {@code .json} snapshot; all optionally {@code .gz}.
+ * CSV and NDJSON records are split sequentially, parsed and validated in parallel chunks,
+ * and a snapshot is streamed through {@link RecordReader} and validated the same way. Records are then de-duplicated
+ * by id in file order (first occurrence wins, ids already in the app are skipped).
+ * Rows without an id get a fresh UUID, like rows added through the forms. Parsing produces toolkit-free records;
+ * {@link #readRecords} hands those to headless callers directly.
+ */
+public class Importer {
+    private static final int CHUNK = 8192;
+    private static final int MAX_ERRORS = 20;
+
+    /** Progress callback; return false to cancel. */
+    public interface Progress {
+        boolean bytesRead(long read, long total);
+        Progress NONE = (read, total) -> true;
+    }
+
+    public static final class Result {
+        public final List<Beneficiary> beneficiaries = new ArrayList<>();
+        public final List<Opportunity> opportunities = new ArrayList<>();
+        public final List<String> errors = new ArrayList<>();
+        public long records, invalid, duplicates;
+
+        @Override public String toString() {
+            return String.format("%d beneficiaries and %d opportunities imported from %d records (%d invalid, %d duplicates)",
+                beneficiaries.size(), opportunities.size(), records, invalid, duplicates);
+        }
+    }
+
+    /** One parsed record, or the reason it was rejected. */
+    private record Row(BeneficiaryRecord beneficiary, OpportunityRecord opportunity, String error) {}
+
+    private enum Kind { BENEFICIARY_CSV, OPPORTUNITY_CSV, NDJSON }
+
+    public static Result importFile(File f, Set<String> existingBeneficiaryIds, Set<String> existingOpportunityIds, Progress progress) throws IOException {
+        Result result = new Result();
+        Set<String> seenB = new HashSet<>(existingBeneficiaryIds), seenO = new HashSet<>(existingOpportunityIds);
+        scan(f, progress, parsed -> apply(parsed, result, seenB, seenO));
+        return result;
+    }
+
+    /**
+     * Toolkit-free variant for headless tools: valid rows go to the sink as records, one batch per parsed chunk, in
+     * file order and without de-duplication. Returns the number of invalid records; the first few reasons are
+     * appended to {@code errors}.
+     */
+    public static long readRecords(File f, RecordReader.Sink sink, List<String> errors, Progress progress) throws IOException {
+        long[] seen = new long[2]; // records, invalid
+        scan(f, progress, parsed -> {
+            for (List<Row> rows : parsed) {
+                List<BeneficiaryRecord> bs = new ArrayList<>();
+                List<OpportunityRecord> os = new ArrayList<>();
+                for (Row row : rows) {
+                    seen[0]++;
+                    if (row.error() != null) {
+                        seen[1]++;
+                        if (errors.size() < MAX_ERRORS) errors.add("Record " + seen[0] + ": " + row.error());
+                    } else if (row.beneficiary() != null) bs.add(row.beneficiary());
+                    else os.add(row.opportunity());
+                }
+                if (!bs.isEmpty()) sink.beneficiaries(bs);
+                if (!os.isEmpty()) sink.opportunities(os);
+            }
+        });
+        return seen[1];
+    }
+
+    private interface Parsed { void accept(List<List<Row>> chunks); }
+
+    /** Split the file into records, parse them a window of chunks at a time and hand each window over in file order. */
+    private static void scan(File f, Progress progress, Parsed out) throws IOException {
+        String name = f.getName().toLowerCase(Locale.ROOT);
+        boolean gzip = name.endsWith(".gz");
+        if (gzip) name = name.substring(0, name.length() - 3);
+        boolean json = name.endsWith(".ndjson") || name.endsWith(".jsonl");
+        long total = f.length();
+        try (Counting counting = new Counting(new FileInputStream(f));
+             InputStream in = gzip ? new GZIPInputStream(counting, 1 << 16) : counting;
+             BufferedReader r = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16)) {
+            if (name.endsWith(".json")) { snapshot(r, () -> progress.bytesRead(counting.count, total), out); progress.bytesRead(total, total); return; }
+            Kind kind = Kind.NDJSON;
+            if (!json) {
+                String header = r.readLine();
+                if (header == null) return;
+                header = header.replace("\uFEFF", "").trim();
+                if (header.equalsIgnoreCase(Exporter.BENEFICIARY_HEADER)) kind = Kind.BENEFICIARY_CSV;
+                else if (header.equalsIgnoreCase(Exporter.OPPORTUNITY_HEADER) || header.equalsIgnoreCase(Exporter.OPPORTUNITY_HEADER_V1)) kind = Kind.OPPORTUNITY_CSV;
+                else throw new IOException("Unrecognised CSV header: " + header);
+            }
+            int window = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+            List<List<String>> chunks = new ArrayList<>(window);
+            List<String> chunk = new ArrayList<>(CHUNK);
+            String rec;
+            while ((rec = kind == Kind.NDJSON ? r.readLine() : nextCsvRecord(r)) != null) {
+                if (rec.isBlank()) continue;
+                chunk.add(rec);
+                if (chunk.size() == CHUNK) {
+                    chunks.add(chunk); chunk = new ArrayList<>(CHUNK);
+                    if (chunks.size() == window) {
+                        out.accept(parse(chunks, kind));
+                        chunks.clear();
+                        if (!progress.bytesRead(counting.count, total)) throw new InterruptedIOException("Import cancelled");
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) chunks.add(chunk);
+            out.accept(parse(chunks, kind));
+            progress.bytesRead(total, total);
+        }
+    }
+
+    /** One document with beneficiaries and opportunities arrays, as {@code data.json}; a batch at a time, in file order. */
+    private static void snapshot(BufferedReader r, BooleanSupplier proceed, Parsed out) throws IOException {
+        long[] read = new long[1];
+        try {
+            RecordReader.read(r, CHUNK, new RecordReader.Sink() {
+                @Override public void beneficiaries(List<BeneficiaryRecord> batch) {
+                    List<Row> rows = new ArrayList<>(batch.size());
+                    for (BeneficiaryRecord b : batch) rows.add(beneficiary(b.id(), b.name(), b.householdSize(), b.skills().names()));
+                    accept(rows);
+                }
+                @Override public void opportunities(List<OpportunityRecord> batch) {
+                    List<Row> rows = new ArrayList<>(batch.size());
+                    for (OpportunityRecord o : batch) rows.add(opportunity(o.id(), o.title(), o.requiredSkills().names(), o.payout(), o.capacity()));
+                    accept(rows);
+                }
+                private void accept(List<Row> batch) {
+                    read[0] += batch.size();
+                    out.accept(List.of(batch));
+                    if (!proceed.getAsBoolean()) throw new UncheckedIOException(new InterruptedIOException("Import cancelled"));
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (IllegalStateException e) {
+            throw new IOException("Not a LiftUp snapshot: " + e.getMessage(), e);
+        }
+        // A line-per-record file reads as one object with no arrays; say so rather than import nothing
+        if (read[0] == 0) throw new IOException("No beneficiaries or opportunities found; newline-delimited JSON must be named .ndjson or .jsonl");
+    }
+
+    /** Parse a window of chunks on the common pool; chunk order is preserved so de-duplication stays first-wins. */
+    private static List<List<Row>> parse(List<List<String>> chunks, Kind kind) {
+        return chunks.parallelStream().map(c -> {
+            List<Row> rows = new ArrayList<>(c.size());
+            for (String rec : c) rows.add(parseRecord(rec, kind));
+            return rows;
+        }).toList();
+    }
+
+    private static void apply(List<List<Row>> parsed, Result result, Set<String> seenB, Set<String> seenO) {
+        for (List<Row> rows : parsed) {
+            for (Row row : rows) {
+                result.records++;
+                if (row.error() != null) {
+                    result.invalid++;
+                    if (result.errors.size() < MAX_ERRORS) result.errors.add("Record " + result.records + ": " + row.error());
+                } else if (row.beneficiary() != null) {
+                    if (seenB.add(row.beneficiary().id())) result.beneficiaries.add(new Beneficiary(row.beneficiary())); else result.duplicates++;
+                } else {
+                    if (seenO.add(row.opportunity().id())) result.opportunities.add(new Opportunity(row.opportunity())); else result.duplicates++;
+                }
+            }
+        }
+    }
+
+    private static Row parseRecord(String rec, Kind kind) {
+        try {
+            return switch (kind) {
+                case BENEFICIARY_CSV -> {
+                    List<String> f = csvFields(rec);
+                    if (f.size() != 4) yield new Row(null, null, "expected 4 fields, found " + f.size());
+                    yield beneficiary(f.get(0), f.get(1), Integer.parseInt(f.get(2).trim()), skills(f.get(3)));
+                }
+                case OPPORTUNITY_CSV -> {
+                    List<String> f = csvFields(rec);
+                    // The capacity column is optional, so older exports still import
+                    if (f.size() != 4 && f.size() != 5) yield new Row(null, null, "expected 4 or 5 fields, found " + f.size());
+                    int capacity = f.size() == 5 && !f.get(4).isBlank() ? Integer.parseInt(f.get(4).trim()) : 1;
+                    yield opportunity(f.get(0), f.get(1), skills(f.get(2)), Double.parseDouble(f.get(3).trim()), capacity);
+                }
+                case NDJSON -> jsonRecord(rec);
+            };
+        } catch (NumberFormatException e) {
+            return new Row(null, null, "not a number: " + e.getMessage());
+        } catch (IOException | IllegalStateException e) {
+            return new Row(null, null, "malformed record: " + e.getMessage());
+        }
+    }
+
+    private static Row beneficiary(String id, String name, int household, List<String> skills) {
+        if (name.isBlank()) return new Row(null, null, "missing name");
+        if (household < 1) return new Row(null, null, "household size must be at least 1");
+        return new Row(BeneficiaryRecord.of(id.isBlank() ? UUID.randomUUID().toString() : id.trim(), name.trim(), household, skills), null, null);
+    }
+
+    private static Row opportunity(String id, String title, List<String> skills, double payout, int capacity) {
+        if (title.isBlank()) return new Row(null, null, "missing title");
+        if (!OpportunityRecord.isValidPayout(payout)) return new Row(null, null, "payout must be positive and at most " + (long) OpportunityRecord.MAX_PAYOUT);
+        if (capacity < 1) return new Row(null, null, "capacity must be at least 1");
+        return new Row(null, OpportunityRecord.of(id.isBlank() ? UUID.randomUUID().toString() : id.trim(), title.trim(), skills, payout, capacity), null);
+    }
+
+    /** An NDJSON object is an opportunity if it has a title, payout, requiredSkills or capacity, otherwise a beneficiary. */
+    private static Row jsonRecord(String line) throws IOException {
+        JsonReader r = new JsonReader(new StringReader(line));
+        String id = "", name = "", title = null; double household = 0, payout = 0, capacity = 1; List<String> skills = List.of(), required = null;
+        boolean opportunity = false;
+        r.beginObject();
+        while (r.hasNext()) {
+            switch (r.nextName()) {
+                case "id" -> id = text(r);
+                case "name" -> name = text(r);
+                case "householdSize" -> household = r.nextDouble();
+                case "skills" -> skills = strings(r);
+                case "title" -> { title = text(r); opportunity = true; }
+                case "requiredSkills" -> { required = strings(r); opportunity = true; }
+                case "payout" -> { payout = r.nextDouble(); opportunity = true; }
+                case "capacity" -> { capacity = r.nextDouble(); opportunity = true; }
+                default -> r.skipValue();
+            }
+        }
+        r.endObject();
+        return opportunity
+            ? opportunity(id, title == null ? "" : title, required == null ? List.of() : required, payout, (int) capacity)
+            : beneficiary(id, name, (int) household, skills);
+    }
+
+    private static String text(JsonReader r) throws IOException {
+        if (r.peek() == JsonToken.NULL) { r.nextNull(); return ""; }
+        return r.nextString();
+    }
+
+    private static List<String> strings(JsonReader r) throws IOException {
+        List<String> out = new ArrayList<>(4);
+        r.beginArray();
+        while (r.hasNext()) out.add(text(r));
+        r.endArray();
+        return out;
+    }
+
+    /** Exporter joins skills with "; " inside one field. */
+    private static List<String> skills(String field) {
+        List<String> out = new ArrayList<>(4);
+        for (String s : field.split(";")) { String t = s.trim(); if (!t.isEmpty()) out.add(t); }
+        return out;
+    }
+
+    /** Next logical CSV record; a quoted field may span lines. */
+    static String nextCsvRecord(BufferedReader r) throws IOException {
+        String line = r.readLine();
+        if (line == null) return null;
+        if (quotesBalanced(line)) return line;
+        StringBuilder sb = new StringBuilder(line);
+        while ((line = r.readLine()) != null) {
+            sb.append('\n').append(line);
+            if (quotesBalanced(sb)) break;
+        }
+        return sb.toString();
+    }
+
+    private static boolean quotesBalanced(CharSequence s) {
+        int q = 0;
+        for (int i = 0; i < s.length(); i++) if (s.charAt(i) == '"') q++;
+        return (q & 1) == 0;
+    }
+
+    static List<String> csvFields(String rec) {
+        List<String> out = new ArrayList<>(4);
+        StringBuilder f = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < rec.length(); i++) {
+            char c = rec.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < rec.length() && rec.charAt(i + 1) == '"') { f.append('"'); i++; }
+                    else quoted = false;
+                } else f.append(c);
+            } else if (c == '"') quoted = true;
+            else if (c == ',') { out.add(f.toString()); f.setLength(0); }
+            else f.append(c);
+        }
+        out.add(f.toString());
+        return out;
+    }
+
+    /** Counts compressed bytes for progress. */
+    private static final class Counting extends FilterInputStream {
+        long count;
+        Counting(InputStream in) { super(in); }
+        @Override public int read() throws IOException { int b = super.read(); if (b >= 0) count++; return b; }
+        @Override public int read(byte[] b, int off, int len) throws IOException { int n = super.read(b, off, len); if (n > 0) count += n; return n; }
+    }
+}
@@ -0,0 +1,206 @@
+package com.liftup.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.ConstructorParameters;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide timers and counters for the hot paths, cheap enough to leave on in the field: a sample costs two
+ * {@code nanoTime} calls and a few uncontended atomic adds. Each timer keeps a log-bucket latency histogram (four
+ * buckets per power of two, so percentiles are within about 20%), and each sample is also emitted as a
+ * {@code com.liftup.Operation} JFR event when a recording is running. Everything is readable over JMX as
+ * {@code com.liftup:type=Performance} once {@link #registerMBean()} has been called.
+ */
+public final class Metrics {
+    private static final Map<String, Timer> TIMERS = Collections.synchronizedMap(new LinkedHashMap<>());
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+    public static final Timer LOAD = timer("datastore.load");
+    public static final Timer SAVE = timer("datastore.save");
+    public static final Timer COMPACT = timer("datastore.compact");
+    public static final Timer MATCH = timer("matching.match");
+    public static final Timer MATCH_ALL = timer("matching.matchAll");
+    public static final Timer ASSIGN = timer("matching.assign");
+    public static final Timer INCREMENTAL = timer("matching.incremental");
+    public static final Timer EXPORT = timer("export.csv");
+    public static final Timer TRANSFER = timer("wallet.transfer");
+    public static final Timer TRANSFER_BATCH = timer("wallet.transferBatch");
+    public static final Timer INSIGHTS = timer("insights.recompute");
+
+    public static final String OBJECT_NAME = "com.liftup:type=Performance";
+
+    private Metrics() {}
+
+    /** The timer called {@code name}, created on first use. */
+    public static Timer timer(String name) { return TIMERS.computeIfAbsent(name, Timer::new); }
+
+    public static List<Timer> timers() { synchronized (TIMERS) { return new ArrayList<>(TIMERS.values()); } }
+
+    public static void count(String name, long delta) { COUNTERS.computeIfAbsent(name, k -> new LongAdder()).add(delta); }
+
+    public static Map<String, Long> counters() {
+        Map<String, Long> out = new TreeMap<>();
+        COUNTERS.forEach((k, v) -> out.put(k, v.sum()));
+        return out;
+    }
+
+    public static void reset() {
+        for (Timer t : timers()) t.reset();
+        COUNTERS.values().forEach(LongAdder::reset);
+    }
+
+    public static MemoryUsage heap() { return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage(); }
+
+    /** Publish the figures on the platform MBean server; repeated calls are ignored. */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) server.registerMBean(new Performance(), name);
+        } catch (JMException e) {
+            System.err.println("Performance MBean not registered: " + e.getMessage());
+        }
+    }
+
+    /** Latency histogram plus call and record counts for one operation. Thread-safe. */
+    public static final class Timer {
+        private static final int BUCKETS = 256;
+
+        private final String name;
+        private final LongAdder calls = new LongAdder(), records = new LongAdder(), totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        private Timer(String name) { this.name = name; }
+
+        public String name() { return name; }
+
+        /** Start timing; close the sample (try-with-resources) when the operation ends. */
+        public Sample start() { return new Sample(this); }
+
+        public void record(long nanos, long recordCount) {
+            calls.increment();
+            if (recordCount > 0) records.add(recordCount);
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            buckets.incrementAndGet(bucket(nanos));
+        }
+
+        public long calls() { return calls.sum(); }
+        public long records() { return records.sum(); }
+        public long maxNanos() { return maxNanos.get(); }
+        public double meanNanos() { long n = calls.sum(); return n == 0 ? 0 : (double) totalNanos.sum() / n; }
+
+        /** Upper edge of the bucket holding the {@code q} quantile (0..1), capped at the maximum seen. */
+        public long percentileNanos(double q) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) total += counts[i] = buckets.get(i);
+            if (total == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(q * total)), seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(upperEdge(i), maxNanos.get());
+            }
+            return maxNanos.get();
+        }
+
+        void reset() {
+            calls.reset(); records.reset(); totalNanos.reset(); maxNanos.set(0);
+            for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0);
+        }
+
+        /** Values below 4 get their own bucket; above that, the exponent plus the two bits after the leading one. */
+        static int bucket(long nanos) {
+            if (nanos < 4) return (int) Math.max(0, nanos);
+            int e = 63 - Long.numberOfLeadingZeros(nanos);
+            return ((e - 1) << 2) + (int) ((nanos >>> (e - 2)) & 3);
+        }
+
+        static long upperEdge(int bucket) {
+            if (bucket < 4) return bucket;
+            int e = (bucket >>> 2) + 1, sub = bucket & 3;
+            return ((4L + sub + 1) << (e - 2)) - 1;
+        }
+    }
+
+    /** One timed operation; also the JFR event for it. */
+    public static final class Sample implements AutoCloseable {
+        private final Timer timer;
+        private final long start = System.nanoTime();
+        private final OperationEvent event = new OperationEvent();
+        private long records;
+
+        private Sample(Timer timer) { this.timer = timer; event.begin(); }
+
+        /** Rows, legs or matches handled, for throughput figures. */
+        public Sample records(long n) { records = n; return this; }
+
+        @Override public void close() {
+            timer.record(System.nanoTime() - start, records);
+            if (event.shouldCommit()) { event.operation = timer.name; event.records = records; event.commit(); }
+        }
+    }
+
+    // --- JMX ---
+
+    /** {@code com.liftup:type=Performance}; times are in milliseconds. */
+    public interface PerformanceMXBean {
+        List<TimerStats> getTimers();
+        Map<String, Long> getCounters();
+        long getHeapUsedBytes();
+        long getHeapCommittedBytes();
+        long getHeapMaxBytes();
+        void reset();
+    }
+
+    /** Point-in-time view of one {@link Timer}. */
+    public static final class TimerStats {
+        private final String name;
+        private final long calls, records;
+        private final double meanMillis, p50Millis, p95Millis, p99Millis, maxMillis;
+
+        @ConstructorParameters({ "name", "calls", "records", "meanMillis", "p50Millis", "p95Millis", "p99Millis", "maxMillis" })
+        public TimerStats(String name, long calls, long records, double meanMillis, double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+            this.name = name; this.calls = calls; this.records = records; this.meanMillis = meanMillis;
+            this.p50Millis = p50Millis; this.p95Millis = p95Millis; this.p99Millis = p99Millis; this.maxMillis = maxMillis;
+        }
+
+        public static TimerStats of(Timer t) {
+            return new TimerStats(t.name(), t.calls(), t.records(), t.meanNanos() / 1e6,
+                t.percentileNanos(0.50) / 1e6, t.percentileNanos(0.95) / 1e6, t.percentileNanos(0.99) / 1e6, t.maxNanos() / 1e6);
+        }
+
+        public String getName() { return name; }
+        public long getCalls() { return calls; }
+        public long getRecords() { return records; }
+        public double getMeanMillis() { return meanMillis; }
+        public double getP50Millis() { return p50Millis; }
+        public double getP95Millis() { return p95Millis; }
+        public double getP99Millis() { return p99Millis; }
+        public double getMaxMillis() { return maxMillis; }
+    }
+
+    private static final class Performance implements PerformanceMXBean {
+        @Override public List<TimerStats> getTimers() { List<TimerStats> out = new ArrayList<>(); for (Timer t : timers()) out.add(TimerStats.of(t)); return out; }
+        @Override public Map<String, Long> getCounters() { return counters(); }
+        @Override public long getHeapUsedBytes() { return heap().getUsed(); }
+        @Override public long getHeapCommittedBytes() { return heap().getCommitted(); }
+        @Override public long getHeapMaxBytes() { return heap().getMax(); }
+        @Override public void reset() { Metrics.reset(); }
+    }
+}
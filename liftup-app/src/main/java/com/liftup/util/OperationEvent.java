@@ -0,0 +1,21 @@
+package com.liftup.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event for one {@link Metrics.Sample}; only recorded while a recording with it enabled is running. */
+@Name("com.liftup.Operation")
+@Label("LiftUp Operation")
+@Category("LiftUp")
+@Description("A timed load, save, match, export, wallet or dashboard operation")
+@StackTrace(false)
+final class OperationEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Records")
+    long records;
+}
@@ -0,0 +1,58 @@
+package com.liftup.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.collections.ObservableListBase;
+
+import com.liftup.services.PageSource;
+
+/**
+ * Read-only observable list over a {@link PageSource}: {@code get(i)} materializes the page holding row i on first
+ * access and keeps at most {@code maxPages} pages in an LRU cache, so a TableView only ever holds the rows around
+ * its viewport. Swapping the source (new filter or sort order) publishes one replace-all change. FX thread only.
+ */
+public class PagedList<T> extends ObservableListBase<T> {
+    private final int pageSize;
+    private final Map<Integer, List<T>> pages;
+    private PageSource<T> source = PageSource.empty();
+    private long hits, misses;
+
+    public PagedList(int pageSize, int maxPages) {
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<>(maxPages * 2, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) { return size() > maxPages; }
+        };
+    }
+
+    public void setSource(PageSource<T> next) {
+        int old = size();
+        source = next;
+        pages.clear();
+        beginChange();
+        if (old > 0) nextRemove(0, Collections.nCopies(old, null));
+        if (next.size() > 0) nextAdd(0, next.size());
+        endChange();
+    }
+
+    @Override public T get(int index) {
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException(index + " of " + size());
+        int page = index / pageSize;
+        List<T> rows = pages.get(page);
+        if (rows == null) {
+            misses++;
+            int from = page * pageSize;
+            rows = source.fetch(from, Math.min(size(), from + pageSize));
+            pages.put(page, rows);
+        } else hits++;
+        return rows.get(index - page * pageSize);
+    }
+
+    @Override public int size() { return source.size(); }
+
+    public int cachedPages() { return pages.size(); }
+    public long pageHits() { return hits; }
+    public long pageMisses() { return misses; }
+}
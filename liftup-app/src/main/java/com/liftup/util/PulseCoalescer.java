@@ -0,0 +1,27 @@
+package com.liftup.util;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * Runs an action at most once per JavaFX animation pulse, however many times it is requested in between.
+ * The timer only runs while a request is pending. FX thread only.
+ */
+public class PulseCoalescer {
+    private final Runnable action;
+    private boolean pending;
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override public void handle(long now) {
+            stop();
+            pending = false;
+            action.run();
+        }
+    };
+
+    public PulseCoalescer(Runnable action) { this.action = action; }
+
+    public void request() {
+        if (pending) return;
+        pending = true;
+        timer.start();
+    }
+}
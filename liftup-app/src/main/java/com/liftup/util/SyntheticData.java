@@ -0,0 +1,94 @@
+package com.liftup.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.BeneficiaryRecord;
+import com.liftup.models.Opportunity;
+import com.liftup.models.OpportunityRecord;
+import com.liftup.models.SkillSet;
+
+/**
+ * Seeded generator of realistic-looking rosters for benchmarks and scale runs. Skills are drawn from a fixed
+ * vocabulary with a Zipf distribution (a few skills are very common, most are rare), household sizes skew small and
+ * payouts are log-normal, capacities geometric around 10 places. The same seed always yields the same data; row i does not depend on how many rows are drawn.
+ */
+public final class SyntheticData {
+    private static final String[] COMMON_SKILLS = {
+        "cooking", "sewing", "sales", "data entry", "typing", "cleaning", "driving", "farming", "baking", "childcare",
+        "translation", "carpentry", "tailoring", "customer service", "delivery", "tutoring", "hygiene", "food prep",
+        "welding", "plumbing", "bookkeeping", "gardening", "painting", "elder care", "packing"
+    };
+    private static final String[] FIRST = { "Amina", "Rahul", "Nur", "Siti", "Ahmad", "Mei Ling", "Kumar", "Aisyah", "Tan", "Farah", "Ravi", "Lim", "Hafiz", "Priya", "Wei", "Zainab" };
+    private static final String[] LAST = { "Yusuf", "Singh", "Izzah", "Abdullah", "Ong", "Rahman", "Lee", "Devi", "Ismail", "Chong", "Nair", "Hassan", "Wong", "Osman" };
+    private static final String[] ROLES = { "Assistant", "Helper", "Trainee", "Operator", "Coordinator", "Technician", "Aide", "Clerk" };
+
+    private final long seed;
+    private final String[] vocabulary;
+    private final double[] cdf;
+
+    /** 500 skills, Zipf exponent 1.1. */
+    public SyntheticData(long seed) { this(seed, 500, 1.1); }
+
+    public SyntheticData(long seed, int skills, double zipfExponent) {
+        this.seed = seed;
+        vocabulary = new String[skills];
+        for (int i = 0; i < skills; i++) vocabulary[i] = i < COMMON_SKILLS.length ? COMMON_SKILLS[i] : "skill " + i;
+        cdf = new double[skills];
+        double sum = 0;
+        for (int i = 0; i < skills; i++) { sum += 1 / Math.pow(i + 1, zipfExponent); cdf[i] = sum; }
+        for (int i = 0; i < skills; i++) cdf[i] /= sum;
+    }
+
+    public List<Beneficiary> beneficiaries(int n) {
+        List<Beneficiary> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(new Beneficiary(beneficiaryRecord(i)));
+        return out;
+    }
+
+    public List<Opportunity> opportunities(int n) {
+        List<Opportunity> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(new Opportunity(opportunityRecord(i)));
+        return out;
+    }
+
+    public BeneficiaryRecord beneficiaryRecord(int i) {
+        SplittableRandom r = rowRandom(1, i);
+        String name = FIRST[r.nextInt(FIRST.length)] + " " + LAST[r.nextInt(LAST.length)];
+        int household = 1 + (int) Math.min(9, Math.floor(-Math.log(1 - r.nextDouble()) * 2.5));
+        return new BeneficiaryRecord("b" + i, name, household, skills(r, 1 + r.nextInt(5)));
+    }
+
+    public OpportunityRecord opportunityRecord(int i) {
+        SplittableRandom r = rowRandom(2, i);
+        int primary = zipf(r);
+        List<String> picked = new ArrayList<>(4);
+        picked.add(vocabulary[primary]);
+        for (int k = r.nextInt(4); k > 0; k--) picked.add(vocabulary[zipf(r)]);
+        String title = capitalize(vocabulary[primary]) + " " + ROLES[r.nextInt(ROLES.length)];
+        double payout = Math.round(Math.exp(6 + r.nextGaussian() * 0.8) * 100) / 100.0;
+        int capacity = 1 + (int) Math.min(99, Math.floor(-Math.log(1 - r.nextDouble()) * 9));
+        return new OpportunityRecord("o" + i, title, SkillSet.of(picked), Math.max(10, payout), capacity);
+    }
+
+    /** One generator per row, derived from the seed, so rows are independent of draw order. */
+    private SplittableRandom rowRandom(int stream, int i) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + i);
+    }
+
+    private SkillSet skills(SplittableRandom r, int count) {
+        List<String> picked = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) picked.add(vocabulary[zipf(r)]);
+        return SkillSet.of(picked);
+    }
+
+    private int zipf(SplittableRandom r) {
+        int i = Arrays.binarySearch(cdf, r.nextDouble());
+        return i >= 0 ? i : Math.min(cdf.length - 1, -i - 1);
+    }
+
+    private static String capitalize(String s) { return Character.toUpperCase(s.charAt(0)) + s.substring(1); }
+}
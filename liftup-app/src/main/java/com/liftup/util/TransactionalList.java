@@ -0,0 +1,82 @@
+package com.liftup.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javafx.collections.ModifiableObservableListBase;
+
+/**
+ * Observable list whose mutations can be grouped: everything applied between {@link #begin()} and closing the
+ * returned {@link Transaction} reaches listeners as one {@code Change}, so filtered/sorted views and dashboard
+ * listeners do one pass per batch instead of one per element. Transactions nest; only the outermost close
+ * publishes. There is no rollback: closing publishes whatever was applied, even after an exception.
+ */
+public class TransactionalList<E> extends ModifiableObservableListBase<E> {
+    private final ArrayList<E> items = new ArrayList<>();
+    private int depth;
+
+    public TransactionalList() {}
+
+    public TransactionalList(Collection<? extends E> initial) { items.addAll(initial); }
+
+    /** Closing publishes the aggregated change; not thread-safe, FX thread only. */
+    public interface Transaction extends AutoCloseable {
+        @Override void close();
+    }
+
+    public Transaction begin() {
+        if (depth++ == 0) beginChange();
+        boolean[] closed = { false };
+        return () -> {
+            if (closed[0]) return;
+            closed[0] = true;
+            if (--depth == 0) endChange();
+        };
+    }
+
+    public boolean inTransaction() { return depth > 0; }
+
+    /** Report an in-place edit of the element at {@code index} (an update change) to listeners. */
+    public void updated(int index) {
+        beginChange();
+        nextUpdate(index);
+        endChange();
+    }
+
+    /** Report an in-place edit of {@code e}; no-op if it is not in the list. Scans for it, so prefer {@link #updated(int)}. */
+    public void updated(E e) {
+        int i = indexOf(e);
+        if (i >= 0) updated(i);
+    }
+
+    /** Append in one change, growing the backing array once. */
+    @Override public boolean addAll(Collection<? extends E> c) {
+        if (c.isEmpty()) return false;
+        beginChange();
+        int from = items.size();
+        items.addAll(c);
+        modCount++;
+        nextAdd(from, items.size());
+        endChange();
+        return true;
+    }
+
+    /** Clear in one change without removing element by element. */
+    @Override public void clear() {
+        if (items.isEmpty()) return;
+        beginChange();
+        List<E> removed = new ArrayList<>(items);
+        items.clear();
+        modCount++;
+        nextRemove(0, removed);
+        endChange();
+    }
+
+    @Override public E get(int index) { return items.get(index); }
+    @Override public int size() { return items.size(); }
+
+    @Override protected void doAdd(int index, E element) { items.add(index, element); }
+    @Override protected E doSet(int index, E element) { return items.set(index, element); }
+    @Override protected E doRemove(int index) { return items.remove(index); }
+}
@@ -0,0 +1,141 @@
+package com.liftup.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.liftup.models.SkillSet;
+
+/**
+ * Cross-checks the auction against an exact min-cost flow on small random instances. With {@code choices} at least
+ * the number of opportunities the sparse graph is every pair sharing {@code minOverlap} skills, so both solve the
+ * same problem and must reach the same total benefit.
+ */
+class AssignmentEngineTest {
+    private static final int INSTANCES = 500, SKILLS = 8;
+
+    @Test
+    void coldStartMatchesMinCostFlow() {
+        Random rnd = new Random(42);
+        for (int i = 0; i < INSTANCES; i++) {
+            Instance in = Instance.random(rnd);
+            AssignmentEngine.Solution s = in.engine().assign(in.bs, in.scores, in.os, in.capacities, null);
+            in.check(s, "instance " + i);
+        }
+    }
+
+    @Test
+    void warmStartMatchesMinCostFlow() {
+        Random rnd = new Random(7);
+        for (int i = 0; i < INSTANCES; i++) {
+            Instance in = Instance.random(rnd);
+            AssignmentEngine engine = in.engine();
+            AssignmentEngine.Solution first = engine.assign(in.bs, in.scores, in.os, in.capacities, null);
+            // Re-settle after some households' scores changed, carrying the previous prices and choices over
+            for (int b = 0; b < in.scores.length; b++) if (rnd.nextInt(4) == 0) in.scores[b] = 10 + rnd.nextInt(91);
+            AssignmentEngine.Solution again = engine.assign(in.bs, in.scores, in.os, in.capacities,
+                    new AssignmentEngine.WarmStart(first.prices(), first.choices()));
+            in.check(again, "warm instance " + i);
+        }
+    }
+
+    private record Instance(List<SkillSet> bs, int[] scores, List<SkillSet> os, int[] capacities, int minOverlap) {
+        static Instance random(Random rnd) {
+            int nb = 1 + rnd.nextInt(12), no = 1 + rnd.nextInt(6);
+            List<SkillSet> bs = new ArrayList<>(), os = new ArrayList<>();
+            int[] scores = new int[nb], capacities = new int[no];
+            for (int b = 0; b < nb; b++) { bs.add(skills(rnd)); scores[b] = 10 + rnd.nextInt(91); }
+            for (int o = 0; o < no; o++) { os.add(skills(rnd)); capacities[o] = 1 + rnd.nextInt(3); }
+            return new Instance(bs, scores, os, capacities, 1 + rnd.nextInt(2));
+        }
+
+        private static SkillSet skills(Random rnd) {
+            List<String> names = new ArrayList<>();
+            for (int s = 0; s < SKILLS; s++) if (rnd.nextInt(3) == 0) names.add("test skill " + s);
+            return SkillSet.of(names);
+        }
+
+        AssignmentEngine engine() { return new AssignmentEngine(minOverlap, os.size()); }
+
+        /** Benefit of placing b at o, or -1 when they share too few skills to be an edge. */
+        int benefit(int b, int o) {
+            int overlap = bs.get(b).overlap(os.get(o));
+            return overlap < minOverlap ? -1 : AssignmentEngine.benefit(scores[b], overlap, os.get(o).size());
+        }
+
+        void check(AssignmentEngine.Solution s, String what) {
+            int[] used = new int[os.size()];
+            long total = 0; int assigned = 0;
+            for (int b = 0; b < bs.size(); b++) {
+                int o = s.choices()[b];
+                if (o < 0) continue;
+                assertTrue(benefit(b, o) >= 0, what + ": beneficiary " + b + " placed without an edge");
+                assertTrue(++used[o] <= capacities[o], what + ": opportunity " + o + " over capacity");
+                total += benefit(b, o);
+                assigned++;
+            }
+            assertEquals(total, s.totalBenefit(), what + ": reported total");
+            assertEquals(assigned, s.assigned(), what + ": reported assigned");
+            assertEquals(optimum(), s.totalBenefit(), what + ": gap to the exact optimum");
+        }
+
+        /** Maximum total benefit by successive shortest paths (Bellman-Ford) while a path still adds benefit. */
+        long optimum() {
+            int nb = bs.size(), no = os.size(), source = nb + no, sink = source + 1;
+            Flow f = new Flow(sink + 1);
+            for (int b = 0; b < nb; b++) f.edge(source, b, 1, 0);
+            for (int b = 0; b < nb; b++) for (int o = 0; o < no; o++) if (benefit(b, o) >= 0) f.edge(b, nb + o, 1, -benefit(b, o));
+            for (int o = 0; o < no; o++) f.edge(nb + o, sink, capacities[o], 0);
+            long total = 0;
+            while (true) {
+                long cost = f.augment(source, sink);
+                if (cost >= 0) return total;
+                total -= cost;
+            }
+        }
+    }
+
+    /** Residual graph with unit-capacity augmenting paths; edge {@code e ^ 1} is the reverse of {@code e}. */
+    private static final class Flow {
+        private final List<List<Integer>> out = new ArrayList<>();
+        private final List<int[]> edges = new ArrayList<>(); // to, capacity, cost
+
+        Flow(int n) { for (int v = 0; v < n; v++) out.add(new ArrayList<>()); }
+
+        void edge(int from, int to, int capacity, int cost) {
+            out.get(from).add(edges.size()); edges.add(new int[] {to, capacity, cost});
+            out.get(to).add(edges.size()); edges.add(new int[] {from, 0, -cost});
+        }
+
+        /** Pushes one unit along the cheapest path if it costs less than zero; returns its cost (0 when none). */
+        long augment(int source, int sink) {
+            int n = out.size();
+            long[] dist = new long[n];
+            int[] via = new int[n];
+            boolean[] queued = new boolean[n];
+            Arrays.fill(dist, Long.MAX_VALUE); Arrays.fill(via, -1);
+            dist[source] = 0;
+            ArrayDeque<Integer> queue = new ArrayDeque<>(List.of(source));
+            while (!queue.isEmpty()) {
+                int v = queue.poll(); queued[v] = false;
+                for (int e : out.get(v)) {
+                    int[] edge = edges.get(e);
+                    if (edge[1] > 0 && dist[v] + edge[2] < dist[edge[0]]) {
+                        dist[edge[0]] = dist[v] + edge[2]; via[edge[0]] = e;
+                        if (!queued[edge[0]]) { queued[edge[0]] = true; queue.add(edge[0]); }
+                    }
+                }
+            }
+            if (dist[sink] >= 0) return 0;
+            for (int v = sink; v != source; v = edges.get(via[v] ^ 1)[0]) { edges.get(via[v])[1]--; edges.get(via[v] ^ 1)[1]++; }
+            return dist[sink];
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.liftup.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * JMH entry point that writes machine-readable results by default ({@code jmh-result.json}), so runs from different
+ * releases can be diffed. Any JMH option works as usual; passing {@code -rf}/{@code -rff} overrides the default.
+ */
+public final class BenchmarkMain {
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws Exception {
+        List<String> a = new ArrayList<>(Arrays.asList(args));
+        if (!a.contains("-rf")) a.addAll(List.of("-rf", "json"));
+        if (!a.contains("-rff")) a.addAll(List.of("-rff", "jmh-result.json"));
+        Main.main(a.toArray(new String[0]));
+    }
+}
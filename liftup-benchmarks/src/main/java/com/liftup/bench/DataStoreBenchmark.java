@@ -0,0 +1,76 @@
+package com.liftup.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+import com.liftup.services.DataStore;
+import com.liftup.util.SyntheticData;
+
+/** Full snapshot save and load in each format, in a scratch directory rather than {@code ~/.liftup}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DataStoreBenchmark {
+    @Param({ "10000", "100000" })
+    public int rows;
+
+    @Param({ "JSON", "BINARY" })
+    public DataStore.SnapshotFormat format;
+
+    private File dir;
+    private DataStore store;
+    private List<Beneficiary> beneficiaries;
+    private List<Opportunity> opportunities;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SyntheticData data = new SyntheticData(42);
+        beneficiaries = data.beneficiaries(rows);
+        opportunities = data.opportunities(rows / 10);
+        dir = Files.createTempDirectory("liftup-bench").toFile();
+        store = new DataStore("/com/liftup/views", "data/sample-data.json", dir);
+        store.setSnapshotFormat(format);
+        store.commit(beneficiaries, opportunities);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<java.nio.file.Path> files = Files.walk(dir.toPath())) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int save() throws IOException {
+        store.reset();
+        return store.commit(beneficiaries, opportunities);
+    }
+
+    @Benchmark
+    public DataStore.Snapshot load() { return store.load(false); }
+}
@@ -0,0 +1,56 @@
+package com.liftup.bench;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+import com.liftup.util.Exporter;
+import com.liftup.util.SyntheticData;
+
+/** CSV encoding throughput into a discarding writer, so the numbers are the encoder's and not the disk's. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExportBenchmark {
+    @Param({ "10000", "100000" })
+    public int rows;
+
+    private List<Beneficiary> beneficiaries;
+    private List<Opportunity> opportunities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = new SyntheticData(42);
+        beneficiaries = data.beneficiaries(rows);
+        opportunities = data.opportunities(rows);
+    }
+
+    @Benchmark
+    public long beneficiariesCsv() throws IOException {
+        return Exporter.writeBeneficiaries(beneficiaries.iterator(), Writer.nullWriter(), Exporter.Progress.NONE);
+    }
+
+    @Benchmark
+    public long opportunitiesCsv() throws IOException {
+        return Exporter.writeOpportunities(opportunities.iterator(), Writer.nullWriter(), Exporter.Progress.NONE);
+    }
+}
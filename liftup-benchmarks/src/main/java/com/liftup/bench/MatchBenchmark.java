@@ -0,0 +1,76 @@
+package com.liftup.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.liftup.models.Beneficiary;
+import com.liftup.models.Opportunity;
+import com.liftup.models.SkillSet;
+import com.liftup.services.MatchWeights;
+import com.liftup.services.MatchingService;
+import com.liftup.services.SkillIndex;
+import com.liftup.util.SyntheticData;
+
+/** Single-beneficiary matching: the legacy scan, the skill-index lookup, weighted top-25 ranking, and the raw overlap filter. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchBenchmark {
+    @Param({ "1000", "10000", "100000" })
+    public int opportunities;
+
+    private ArrayList<Opportunity> catalogue;
+    private List<Beneficiary> people;
+    private final MatchingService matcher = new MatchingService(0);
+    private final MatchingService cached = new MatchingService();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = new SyntheticData(42);
+        catalogue = new ArrayList<>(data.opportunities(opportunities));
+        people = data.beneficiaries(1024);
+        matcher.index().addAll(catalogue);
+        cached.index().addAll(catalogue);
+    }
+
+    private Beneficiary nextBeneficiary() { return people.get(next++ & 1023); }
+
+    @Benchmark
+    public List<Opportunity> matchScan() { return matcher.match(nextBeneficiary(), catalogue); }
+
+    @Benchmark
+    public List<SkillIndex.Hit> matchIndexed() { return matcher.match(nextBeneficiary(), 1); }
+
+    @Benchmark
+    public List<MatchingService.Scored> matchRanked() { return matcher.rank(nextBeneficiary(), 1, 25, MatchWeights.DEFAULT); }
+
+    /** Same 1024 beneficiaries over and over, so after the first pass every lookup is a cache hit. */
+    @Benchmark
+    public List<MatchingService.Scored> matchRankedCached() { return cached.rank(nextBeneficiary(), 1, 25, MatchWeights.DEFAULT); }
+
+    /** The overlap filter on its own: one beneficiary against the whole catalogue. */
+    @Benchmark
+    public void overlapFilter(Blackhole bh) {
+        SkillSet skills = nextBeneficiary().getSkillSet();
+        for (int i = 0; i < catalogue.size(); i++) bh.consume(skills.overlap(catalogue.get(i).getRequiredSkillSet()));
+    }
+}
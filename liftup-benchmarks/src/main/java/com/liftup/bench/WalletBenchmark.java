@@ -0,0 +1,79 @@
+package com.liftup.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.liftup.services.WalletService;
+
+/**
+ * Transfers between random accounts at 1, 4 and 16 threads, in memory and with the durable journal
+ * (where group commit decides how throughput scales with threads).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WalletBenchmark {
+    @Param({ "1000", "100000" })
+    public int accounts;
+
+    @Param({ "memory", "journal" })
+    public String mode;
+
+    private WalletService wallet;
+    private String[] ids;
+    private Path dir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if ("journal".equals(mode)) {
+            dir = Files.createTempDirectory("liftup-wallet-bench");
+            wallet = WalletService.open(dir);
+        } else wallet = new WalletService();
+        ids = new String[accounts];
+        for (int i = 0; i < accounts; i++) { ids[i] = "acct-" + i; wallet.credit(ids[i], 1_000_000); }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        wallet.close();
+        if (dir != null) try (Stream<Path> files = Files.walk(dir)) { files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete); }
+    }
+
+    private String transfer() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        return wallet.transfer(ids[r.nextInt(accounts)], ids[r.nextInt(accounts)], 0.01 * (1 + r.nextInt(500)));
+    }
+
+    @Benchmark @Threads(1)
+    public String transfer1() { return transfer(); }
+
+    @Benchmark @Threads(4)
+    public String transfer4() { return transfer(); }
+
+    @Benchmark @Threads(16)
+    public String transfer16() { return transfer(); }
+}